@@ -0,0 +1,123 @@
+package com.matching.MatchingAPI.Matching;
+
+import com.matching.MatchingAPI.Ontology.OntologyProcessingService;
+import com.matching.MatchingAPI.Ontology.OntologyUnit;
+import com.matching.MatchingAPI.Settings;
+import org.apache.jena.ontology.OntModel;
+import org.apache.jena.rdf.model.ModelFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates synthetic "Part Database" and "Virtual Satellite" properties for the benchmarks.
+ * Property names are drawn from the synonym ontology and units from "om-2.0.rdf", so that synonym lookup and unit test work on realistic data.
+ * Every list is generated from a fixed seed and sorted ontology data (Jena lists classes and instances in no fixed order),
+ * so that every benchmark run sees the same properties.
+ */
+public class MatchingBenchmarkData {
+    final static long seed = 20201118L;
+    final static String stringAsUnit = "String";
+    final static int classNameIndex = 0;
+
+    static List<List<String>> synonymClassesWithLabels;
+    static List<String> unitNames;
+
+    /**
+     * Reads in both ontologies once and initializes {@link MatchingService} with them.
+     * Collects symbols and labels of all units in "unitNames".
+     * Sorts synonym classes, their labels and "unitNames".
+     */
+    static synchronized void initialize(){
+        if(synonymClassesWithLabels != null){
+            return;
+        }
+
+        new MatchingService().initializeOnStart();
+
+        OntModel synonyms = ModelFactory.createOntologyModel();
+        synonyms.read(Settings.getInstance().getSynonymsOntology());
+        synonymClassesWithLabels = new ArrayList<>();
+
+        for(List<String> classWithLabels : OntologyProcessingService.getListOfClassesWithLabels(synonyms)){
+            if(classWithLabels.get(classNameIndex) != null){
+                List<String> labels = new ArrayList<>(classWithLabels.subList(1, classWithLabels.size()));
+                Collections.sort(labels);
+                labels.add(classNameIndex, classWithLabels.get(classNameIndex));
+                synonymClassesWithLabels.add(labels);
+            }
+        }
+        synonymClassesWithLabels.sort(Comparator.comparing(classWithLabels -> classWithLabels.get(classNameIndex)));
+
+        OntModel units = ModelFactory.createOntologyModel();
+        units.read(Settings.getInstance().getUnitOntology());
+        unitNames = new ArrayList<>();
+
+        for(OntologyUnit unit : OntologyProcessingService.getListOfOntologyUnits(units)){
+            if(!unit.getSymbol().equals("")){
+                unitNames.add(unit.getSymbol());
+            }
+            unitNames.addAll(unit.getLabels());
+        }
+        Collections.sort(unitNames);
+    }
+
+    /**
+     * Picks a random label (not the class name) of a random synonym class.
+     *
+     * @param random the random generator of the list that is generated
+     * @return the label
+     */
+    private static String randomLabel(Random random){
+        List<String> classWithLabels = synonymClassesWithLabels.get(random.nextInt(synonymClassesWithLabels.size()));
+
+        if(classWithLabels.size() == 1){
+            return classWithLabels.get(classNameIndex);
+        }
+        return classWithLabels.get(1 + random.nextInt(classWithLabels.size() - 1));
+    }
+
+    /**
+     * Generates the properties of a "Part Database" object, like {@link com.matching.MatchingAPI.DataConversion.PartDatabaseConverter} would do.
+     * Most names are class names of the synonym ontology, so that the synonym labels get used.
+     * Properties without unit get "String" as unit.
+     *
+     * @param size number of properties
+     * @return list of {@link MatchingProperty}
+     */
+    static List<MatchingProperty> inputProperties(int size){
+        Random random = new Random(seed);
+        List<MatchingProperty> properties = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            List<String> classWithLabels = synonymClassesWithLabels.get(random.nextInt(synonymClassesWithLabels.size()));
+            String name = random.nextInt(4) != 0 ? classWithLabels.get(classNameIndex) : randomLabel(random);
+            String unit = random.nextInt(3) == 0 ? stringAsUnit : unitNames.get(random.nextInt(unitNames.size()));
+
+            properties.add(new MatchingProperty(name, Integer.toString(random.nextInt(1000)), unit));
+        }
+        return properties;
+    }
+
+    /**
+     * Generates the properties of a "Virtual Satellite" object, like {@link com.matching.MatchingAPI.DataConversion.VirtualSatelliteConverter} would do.
+     * Names are synonym labels, units are symbols or labels of "om-2.0.rdf" or empty.
+     *
+     * @param size number of properties
+     * @return list of {@link MatchingProperty}
+     */
+    static List<MatchingProperty> outputProperties(int size){
+        Random random = new Random(seed + 1);
+        List<MatchingProperty> properties = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            String unit = random.nextInt(5) == 0 ? "" : unitNames.get(random.nextInt(unitNames.size()));
+
+            properties.add(new MatchingProperty(randomLabel(random), Integer.toString(random.nextInt(1000)), unit));
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,57 @@
+package com.matching.MatchingAPI.Matching;
+
+import com.matching.MatchingAPI.ComparableEntry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the whole matching of a generated "Part Database" object against a generated "Virtual Satellite" object,
+ * and the json output of already calculated matching suggestions on its own.
+ * "propertyCount" is the number of properties of both objects.
+ * "selectedMethods" matches only these compositional methods (see {@link CompSimSelection}, empty for all).
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MatchingServiceBenchmark {
+    @Param({"10", "100", "1000", "5000"})
+    int propertyCount;
+
+    @Param({""})
+    String selectedMethods;
+    CompSimSelection methods;
+
+    List<MatchingProperty> inputProperties, outputProperties;
+    List<ComparableEntry<String, Double>[]>[] matchingSuggestionList;
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        MatchingBenchmarkData.initialize();
+        methods = CompSimSelection.parse(selectedMethods);
+
+        inputProperties = MatchingBenchmarkData.inputProperties(propertyCount);
+        outputProperties = MatchingBenchmarkData.outputProperties(propertyCount);
+        matchingSuggestionList = MatchingService.calculateMatchingSuggestions(inputProperties, outputProperties);
+    }
+
+    @Benchmark
+    public String generateMatchingSuggestions(){
+        return MatchingService.generateMatchingSuggestions(inputProperties, outputProperties);
+    }
+
+    @Benchmark
+    public String selectedMethods(){
+        List<ComparableEntry<String, Double>[]>[] suggestions = MatchingService.calculateMatchingSuggestions(MatchingService.prepareInputObject(inputProperties), outputProperties, methods);
+        return MatchingService.createAllOutputs(outputProperties, suggestions);
+    }
+
+    @Benchmark
+    public String jsonOutput(){
+        return MatchingService.createAllOutputs(outputProperties, matchingSuggestionList);
+    }
+}
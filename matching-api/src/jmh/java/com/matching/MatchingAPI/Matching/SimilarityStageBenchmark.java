@@ -0,0 +1,115 @@
+package com.matching.MatchingAPI.Matching;
+
+import com.matching.MatchingAPI.Entry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the single stages of the similarity calculation for one pair of property names (or units).
+ * Cycles through "pairCount" pairs of generated input and output properties, so that every stage sees different strings.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SimilarityStageBenchmark {
+    final static int pairCount = 1024;
+
+    String[] firstNames, secondNames, firstUnits, secondUnits, firstOrdered, secondOrdered;
+    String[][] firstWords, secondWords;
+    double[] similarities = new double[3];
+    int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        MatchingBenchmarkData.initialize();
+
+        List<MatchingProperty> inputProperties = MatchingBenchmarkData.inputProperties(pairCount);
+        List<MatchingProperty> outputProperties = MatchingBenchmarkData.outputProperties(pairCount);
+
+        firstNames = new String[pairCount];
+        secondNames = new String[pairCount];
+        firstUnits = new String[pairCount];
+        secondUnits = new String[pairCount];
+        firstWords = new String[pairCount][];
+        secondWords = new String[pairCount][];
+        firstOrdered = new String[pairCount];
+        secondOrdered = new String[pairCount];
+
+        for (int i = 0; i < pairCount; i++) {
+            firstNames[i] = inputProperties.get(i).getName();
+            secondNames[i] = outputProperties.get(i).getName();
+            firstUnits[i] = inputProperties.get(i).getUnit();
+            secondUnits[i] = outputProperties.get(i).getUnit();
+            firstWords[i] = PropertyNameTokenizer.tokenize(firstNames[i]);
+            secondWords[i] = PropertyNameTokenizer.tokenize(secondNames[i]);
+
+            Entry<String, String> orderedStrings = StringSimilarityService.changeWordOrder(firstWords[i], secondWords[i]);
+            firstOrdered[i] = orderedStrings.getKey();
+            secondOrdered[i] = orderedStrings.getValue();
+        }
+    }
+
+    private int next(){
+        cursor = (cursor + 1) & (pairCount - 1);
+        return cursor;
+    }
+
+    @Benchmark
+    public String[] tokenization(){
+        return PropertyNameTokenizer.tokenize(firstNames[next()]);
+    }
+
+    @Benchmark
+    public Entry<String, String> wordReordering(){
+        int i = next();
+        return StringSimilarityService.changeWordOrder(firstWords[i], secondWords[i]);
+    }
+
+    @Benchmark
+    public double jaroWinkler(){
+        int i = next();
+        return StringSimilarityService.calculateJaroSimilarity(firstOrdered[i], secondOrdered[i]);
+    }
+
+    @Benchmark
+    public double jaccard(){
+        int i = next();
+        return StringSimilarityService.calculateJaccardSimilarity(firstOrdered[i], secondOrdered[i]);
+    }
+
+    @Benchmark
+    public double normLevenshtein(){
+        int i = next();
+        return StringSimilarityService.calculateNormLevenshteinSimilarity(firstOrdered[i], secondOrdered[i]);
+    }
+
+    @Benchmark
+    public double[] similarityKernel(){
+        int i = next();
+        SimilarityKernel.calculateSimilarities(firstOrdered[i], secondOrdered[i], similarities);
+        return similarities;
+    }
+
+    @Benchmark
+    public Double[] compareStrings(){
+        int i = next();
+        return StringSimilarityService.compareStrings(firstNames[i], secondNames[i]);
+    }
+
+    @Benchmark
+    public Double[] compareWords(){
+        int i = next();
+        return StringSimilarityService.compareWords(firstWords[i], secondWords[i]);
+    }
+
+    @Benchmark
+    public Object unitBlock(){
+        int i = next();
+        return MatchingService.ontologyIndex.get().getUnitDimensionResolver().getUnitBlock(firstUnits[i]);
+    }
+}
@@ -1,7 +1,10 @@
 package com.matching.MatchingAPI.DataConversion;
 
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
 import com.matching.MatchingAPI.Matching.MatchingProperty;
 
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -16,4 +19,29 @@ public interface DataConverter{
      * @return the list of {@link MatchingProperty}
      */
     List<MatchingProperty> jsonToMatchingPropertyList(String input);
+
+    /**
+     * Converts objects that are already parsed to list of properties as {@link MatchingProperty}.
+     *
+     * @param input contains the objects that need to be merged as json object
+     * @return the list of {@link MatchingProperty}
+     */
+    List<MatchingProperty> jsonToMatchingPropertyList(JsonObject input);
+
+    /**
+     * Returns the key name of the object this converter converts (like "inputObjectData").
+     *
+     * @return the key name of the object
+     */
+    String getObjectIdentifier();
+
+    /**
+     * Reads the object this converter converts from "reader" (positioned at its value)
+     * and converts it to list of properties as {@link MatchingProperty}, without parsing the whole request first.
+     *
+     * @param reader contains the request, positioned at the value of the object
+     * @return the list of {@link MatchingProperty}
+     * @throws IOException if the request can not be read
+     */
+    List<MatchingProperty> readMatchingPropertyList(JsonReader reader) throws IOException;
 }
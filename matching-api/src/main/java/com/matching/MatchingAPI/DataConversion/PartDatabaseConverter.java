@@ -1,11 +1,15 @@
 package com.matching.MatchingAPI.DataConversion;
 
 import com.google.gson.Gson;
-import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.matching.MatchingAPI.Matching.MatchingProperty;
 import com.matching.MatchingAPI.StringProcessingService;
 
+import java.io.IOException;
 import java.util.*;
 
 /**
@@ -15,84 +19,135 @@ import java.util.*;
 public class PartDatabaseConverter implements DataConverter {
     final static String unitIdentifier = "unit", stringAsUnit = "String", inputObjectIdentifier = "inputObjectData",
             nameIdentifier = "name", valueIdentifier = "value", nullString = "null";
+    final static Gson gson = new Gson();
+    final static TypeAdapter<JsonElement> elementAdapter = gson.getAdapter(JsonElement.class);
 
     /**
-     * Converts "json" (list of properties) to Stack with all properties in same order as before.
+     * Converts a sub property of an property (like size: width, height) to {@link MatchingProperty}.
+     * If value of property is null, add for the value instead a empty string.
      *
-     * @param json contains all properties of an object
-     * @return "propertyStack"
+     * @param property contains name, value and unit of the sub property
+     * @return the sub property as {@link MatchingProperty}
      */
-    private static Stack<Map.Entry<String, JsonElement>> jsonToPropertyStack(JsonElement json){
-        Set<Map.Entry<String, JsonElement>> jsonSet = json.getAsJsonObject().entrySet();
-        Stack<Map.Entry<String, JsonElement>> reversePropertyStack = new Stack<>();
-        reversePropertyStack.addAll(jsonSet);
-
-        Stack<Map.Entry<String, JsonElement>> propertyStack = new Stack<>();
+    private static MatchingProperty jsonElementToProperty(JsonElement property){
+        String name = property.getAsJsonObject().get(nameIdentifier).toString(), value = property.getAsJsonObject().get(valueIdentifier).toString();
+        String unit = property.getAsJsonObject().get(unitIdentifier).toString();
+        name = StringProcessingService.removeQuotationMarks(name);
+        value = StringProcessingService.removeQuotationMarks(value);
+        unit = StringProcessingService.removeQuotationMarks(unit);
 
-        while(!reversePropertyStack.isEmpty()){
-            propertyStack.add(reversePropertyStack.pop());
+        if(value.equals(nullString)){
+            return new MatchingProperty(name, "", unit);
         }
-
-        return propertyStack;
+        return new MatchingProperty(name, value, unit);
     }
 
     /**
-     * Add every property of "propertyList" as {@link MatchingProperty} to "partDatList".
-     * If value of property is null, add for the value instead a empty string.
+     * Adds a property as {@link MatchingProperty} to "partDatList".
+     * If value of the property is null, only add the name and rest is empty.
+     * If value is a JsonArray, than add every sub property of it.
+     * Else just add name, value and "String" as unit of the property.
      *
-     * @param propertyList sub properties of an property (like size: width, height)
+     * @param name contains the name of the property
+     * @param value contains the value of the property
      * @param partDatList list where properties are saved as {@link MatchingProperty}
      */
-    private static void jsonElementToListProperties(JsonArray propertyList, List<MatchingProperty> partDatList){
-        for (JsonElement property : propertyList) {
-            String name = property.getAsJsonObject().get(nameIdentifier).toString(), value = property.getAsJsonObject().get(valueIdentifier).toString();
-            String unit = property.getAsJsonObject().get(unitIdentifier).toString();
-            name = StringProcessingService.removeQuotationMarks(name);
-            value = StringProcessingService.removeQuotationMarks(value);
-            unit = StringProcessingService.removeQuotationMarks(unit);
-
-            if(value.equals(nullString)){
-                partDatList.add(new MatchingProperty(name, "", unit));
-            }
-            else {
-                partDatList.add(new MatchingProperty(name, value, unit));
+    private static void addProperty(String name, JsonElement value, List<MatchingProperty> partDatList){
+        if(value.isJsonNull()){
+            partDatList.add(new MatchingProperty(name, "", ""));
+        }
+        else if(value.isJsonArray()){
+            for (JsonElement property : value.getAsJsonArray()) {
+                partDatList.add(jsonElementToProperty(property));
             }
         }
+        else{
+            partDatList.add(new MatchingProperty(name, StringProcessingService.removeQuotationMarks(value.toString()), stringAsUnit));
+        }
     }
 
     /**
      * Implementation of the {@link DataConverter#jsonToMatchingPropertyList(String)} method.
-     * Takes json of an object with the key name "inputObjectData" out of "jsonString".
-     * Creates a Stack with all properties of the object.
-     * Goes through the Stack and adds every property as {@link MatchingProperty} to "partDatList".
-     * If value of a property is null, only add the name and rest is empty.
-     * If value is a JsonArray, than call "jsonElementToListProperties" with the JsonArray.
-     * Else just add name, value and "String" as unit of the property.
+     * Parses "jsonString" and converts it with {@link #jsonToMatchingPropertyList(JsonObject)}.
      *
      * @param jsonString contains the objects that need to be matched
      * @return "partDatList"
      */
     public List<MatchingProperty> jsonToMatchingPropertyList(String jsonString) {
-        Gson gson = new Gson();
         JsonElement jsonElements = gson.fromJson(jsonString, JsonElement.class);
-        JsonElement jsonPD = gson.fromJson(jsonElements.getAsJsonObject().get(inputObjectIdentifier), JsonElement.class);
 
-        Stack<Map.Entry<String, JsonElement>> propertyStack = jsonToPropertyStack(jsonPD);
+        return jsonToMatchingPropertyList(jsonElements.getAsJsonObject());
+    }
+
+    /**
+     * Implementation of the {@link DataConverter#jsonToMatchingPropertyList(JsonObject)} method.
+     * Takes json of an object with the key name "inputObjectData" out of "jsonObject".
+     * Adds every property of the object in the same order with "addProperty" to "partDatList".
+     *
+     * @param jsonObject contains the objects that need to be matched
+     * @return "partDatList"
+     */
+    public List<MatchingProperty> jsonToMatchingPropertyList(JsonObject jsonObject) {
+        JsonElement jsonPD = jsonObject.get(inputObjectIdentifier);
         List<MatchingProperty> partDatList = new ArrayList<>();
 
-        while(!propertyStack.isEmpty()){
-            Map.Entry<String, JsonElement> property = propertyStack.pop();
+        for(Map.Entry<String, JsonElement> property : jsonPD.getAsJsonObject().entrySet()){
+            addProperty(property.getKey(), property.getValue(), partDatList);
+        }
 
+        return partDatList;
+    }
 
-            if(property.getValue().isJsonNull()){
-                partDatList.add(new MatchingProperty(property.getKey(), "", ""));
-            }
-            else if(property.getValue().isJsonArray()){
-                jsonElementToListProperties(property.getValue().getAsJsonArray(), partDatList);
+    /**
+     * Implementation of the {@link DataConverter#getObjectIdentifier()} method.
+     *
+     * @return "inputObjectData"
+     */
+    @Override
+    public String getObjectIdentifier() {
+        return inputObjectIdentifier;
+    }
+
+    /**
+     * Implementation of the {@link DataConverter#readMatchingPropertyList(JsonReader)} method.
+     * Reads the properties of the object one after another and converts them with "addProperty",
+     * sub properties are read and converted one by one.
+     * Like in {@link #jsonToMatchingPropertyList(JsonObject)}, a property with a name that is repeated
+     * stays at the position of its first occurrence with the value of the last one.
+     *
+     * @param reader contains the request, positioned at the object with the key name "inputObjectData"
+     * @return "partDatList"
+     * @throws IOException if the request can not be read
+     */
+    @Override
+    public List<MatchingProperty> readMatchingPropertyList(JsonReader reader) throws IOException {
+        Map<String, List<MatchingProperty>> propertiesByName = new LinkedHashMap<>();
+        int propertyCount = 0;
+
+        reader.beginObject();
+        while(reader.hasNext()){
+            String name = reader.nextName();
+            List<MatchingProperty> properties = new ArrayList<>(1);
+
+            if(reader.peek() == JsonToken.BEGIN_ARRAY){
+                reader.beginArray();
+                while(reader.hasNext()){
+                    properties.add(jsonElementToProperty(elementAdapter.read(reader)));
+                }
+                reader.endArray();
             }
-            else{
-                partDatList.add(new MatchingProperty(property.getKey(), StringProcessingService.removeQuotationMarks(property.getValue().toString()), stringAsUnit));
+            else {
+                addProperty(name, elementAdapter.read(reader), properties);
             }
+
+            List<MatchingProperty> replacedProperties = propertiesByName.put(name, properties);
+            propertyCount += properties.size() - (replacedProperties == null ? 0 : replacedProperties.size());
+        }
+        reader.endObject();
+
+        List<MatchingProperty> partDatList = new ArrayList<>(propertyCount);
+        for(List<MatchingProperty> properties : propertiesByName.values()){
+            partDatList.addAll(properties);
         }
 
         return partDatList;
@@ -0,0 +1,65 @@
+package com.matching.MatchingAPI.DataConversion;
+
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.matching.MatchingAPI.Entry;
+import com.matching.MatchingAPI.Matching.MatchingProperty;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Reads the input and output object of a matching request in one pass from the request stream,
+ * without parsing the request into a json tree or string first.
+ * Every object is converted by its {@link DataConverter} while it is read.
+ */
+public class RequestReader {
+    /**
+     * Reads the request from "request" (json in UTF-8) and converts the object with the key name
+     * of "inputDataConverter" and the object with the key name of "outputDataConverter" to internal format {@link MatchingProperty}.
+     * Other keys are skipped. If a key is repeated, the last object is used.
+     *
+     * @param request contains the objects that need to be matched
+     * @param inputDataConverter contains the converter to internal format for the input object
+     * @param outputDataConverter contains the converter to internal format for the output object
+     * @return the properties of the input object (key) and of the output object (value)
+     * @throws IOException if the request can not be read
+     */
+    public static Entry<List<MatchingProperty>, List<MatchingProperty>> readMatchingPropertyLists(InputStream request, DataConverter inputDataConverter, DataConverter outputDataConverter) throws IOException {
+        JsonReader reader = new JsonReader(new BufferedReader(new InputStreamReader(request, StandardCharsets.UTF_8)));
+        List<MatchingProperty> inputObjectPropertyList = null, outputObjectPropertyList = null;
+
+        //lenient like "Gson.fromJson"
+        reader.setLenient(true);
+        reader.beginObject();
+        while(reader.hasNext()){
+            String name = reader.nextName();
+
+            if(name.equals(inputDataConverter.getObjectIdentifier())){
+                inputObjectPropertyList = inputDataConverter.readMatchingPropertyList(reader);
+            }
+            else if(name.equals(outputDataConverter.getObjectIdentifier())){
+                outputObjectPropertyList = outputDataConverter.readMatchingPropertyList(reader);
+            }
+            else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if(reader.peek() != JsonToken.END_DOCUMENT){
+            throw new JsonIOException("JSON document was not fully consumed.");
+        }
+        if(inputObjectPropertyList == null){
+            throw new JsonParseException("Missing \"" + inputDataConverter.getObjectIdentifier() + "\"");
+        }
+        if(outputObjectPropertyList == null){
+            throw new JsonParseException("Missing \"" + outputDataConverter.getObjectIdentifier() + "\"");
+        }
+
+        return new Entry<>(inputObjectPropertyList, outputObjectPropertyList);
+    }
+}
@@ -4,9 +4,12 @@ import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
 import com.matching.MatchingAPI.Matching.MatchingProperty;
 import com.matching.MatchingAPI.StringProcessingService;
 
+import java.io.IOException;
 import java.util.*;
 
 /**
@@ -16,37 +19,93 @@ import java.util.*;
 public class VirtualSatelliteConverter implements DataConverter {
     final static String nameIdentifier = "name", valueIdentifier = "value", unitIdentifier = "unit",
             outputObjectIdentifier = "outputObjectData";
+    final static Gson gson = new Gson();
+    final static TypeAdapter<JsonElement> elementAdapter = gson.getAdapter(JsonElement.class);
+
+    /**
+     * Converts a property of the output object to {@link MatchingProperty}.
+     * If the property has no unit, the unit is empty.
+     *
+     * @param property contains name, value and optional unit of the property
+     * @return the property as {@link MatchingProperty}
+     */
+    private static MatchingProperty jsonElementToProperty(JsonElement property){
+        String name = property.getAsJsonObject().get(nameIdentifier).toString(), value = property.getAsJsonObject().get(valueIdentifier).toString(), unit = "";
+        JsonElement unitJson = property.getAsJsonObject().get(unitIdentifier);
+
+        if(unitJson != null){
+            unit = unitJson.toString();
+        }
+        name = StringProcessingService.removeQuotationMarks(name);
+        value = StringProcessingService.removeQuotationMarks(value);
+        unit = StringProcessingService.removeQuotationMarks(unit);
+
+        return new MatchingProperty(name, value, unit);
+    }
 
     /**
      * Implementation of the {@link DataConverter#jsonToMatchingPropertyList(String)} method.
-     * Takes json of an object with the key name "outputObjectData" out of "jsonString".
-     * Converts object of jsonString with name "outputObjectData" in JsonArray.
-     * Add every property as {@link MatchingProperty} to "virSatList".
+     * Parses "jsonString" and converts it with {@link #jsonToMatchingPropertyList(JsonObject)}.
      *
      * @param jsonString contains the objects that need to be matched
      * @return list of {@link MatchingProperty} ("virSatList")
      */
     @Override
     public List<MatchingProperty> jsonToMatchingPropertyList(String jsonString) {
-        Gson gson = new Gson();
         JsonElement jsonElements = gson.fromJson(jsonString, JsonElement.class);
-        JsonArray jsonVS = gson.fromJson(jsonElements.getAsJsonObject().get(outputObjectIdentifier), JsonArray.class);
+
+        return jsonToMatchingPropertyList(jsonElements.getAsJsonObject());
+    }
+
+    /**
+     * Implementation of the {@link DataConverter#jsonToMatchingPropertyList(JsonObject)} method.
+     * Takes json of an object with the key name "outputObjectData" out of "jsonObject".
+     * Converts object of jsonObject with name "outputObjectData" in JsonArray.
+     * Add every property converted with "jsonElementToProperty" to "virSatList".
+     *
+     * @param jsonObject contains the objects that need to be matched
+     * @return list of {@link MatchingProperty} ("virSatList")
+     */
+    @Override
+    public List<MatchingProperty> jsonToMatchingPropertyList(JsonObject jsonObject) {
+        JsonArray jsonVS = jsonObject.get(outputObjectIdentifier).getAsJsonArray();
 
         List<MatchingProperty> virSatList = new ArrayList<>();
 
         for (JsonElement property : jsonVS) {
-            String name = property.getAsJsonObject().get(nameIdentifier).toString(), value = property.getAsJsonObject().get(valueIdentifier).toString(), unit = "";
-            JsonElement unitJson = property.getAsJsonObject().get(unitIdentifier);
+            virSatList.add(jsonElementToProperty(property));
+        }
+
+        return virSatList;
+    }
+
+    /**
+     * Implementation of the {@link DataConverter#getObjectIdentifier()} method.
+     *
+     * @return "outputObjectData"
+     */
+    @Override
+    public String getObjectIdentifier() {
+        return outputObjectIdentifier;
+    }
 
-            if(unitJson != null){
-                unit = unitJson.toString();
-            }
-            name = StringProcessingService.removeQuotationMarks(name);
-            value = StringProcessingService.removeQuotationMarks(value);
-            unit = StringProcessingService.removeQuotationMarks(unit);
+    /**
+     * Implementation of the {@link DataConverter#readMatchingPropertyList(JsonReader)} method.
+     * Reads the properties of the array one after another and converts them with "jsonElementToProperty".
+     *
+     * @param reader contains the request, positioned at the array with the key name "outputObjectData"
+     * @return list of {@link MatchingProperty} ("virSatList")
+     * @throws IOException if the request can not be read
+     */
+    @Override
+    public List<MatchingProperty> readMatchingPropertyList(JsonReader reader) throws IOException {
+        List<MatchingProperty> virSatList = new ArrayList<>();
 
-            virSatList.add(new MatchingProperty(name, value, unit));
+        reader.beginArray();
+        while(reader.hasNext()){
+            virSatList.add(jsonElementToProperty(elementAdapter.read(reader)));
         }
+        reader.endArray();
 
         return virSatList;
     }
@@ -0,0 +1,251 @@
+package com.matching.MatchingAPI.Matching;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.matching.MatchingAPI.DataConversion.DataConverter;
+import com.matching.MatchingAPI.DataConversion.PartDatabaseConverter;
+import com.matching.MatchingAPI.DataConversion.VirtualSatelliteConverter;
+import com.matching.MatchingAPI.Settings;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Does the matching for many pairs of objects in one request.
+ * The pairs are read one after another from the request stream and matched concurrently in "batchPool",
+ * the results are written in order of the pairs, one line of json for every pair (NDJSON), as soon as the pair and all pairs before are matched.
+ * Only "maxPairsInProgress" pairs and "maxPreparedInputObjects" prepared input objects are kept at the same time, so the memory does not grow with the batch.
+ */
+public class BatchMatchingService {
+    final static String inputObjectIdentifier = "inputObjectData", errorIdentifier = "error";
+    final static DataConverter inputConverter = new PartDatabaseConverter();
+    final static DataConverter outputConverter = new VirtualSatelliteConverter();
+
+    final static int batchParallelism = getBatchParallelism(Settings.getInstance().getBatchParallelism());
+    //maximum number of pairs that are read, matched or wait to be written at the same time (limits memory of big batches)
+    final static int maxPairsInProgress = batchParallelism * 2;
+    //maximum number of prepared input objects that are kept for the following pairs of a batch (least recently used are removed)
+    final static int maxPreparedInputObjects = maxPairsInProgress;
+    final static ExecutorService batchPool = Executors.newFixedThreadPool(batchParallelism, runnable -> {
+        Thread thread = new Thread(runnable, "batch-matching");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Gets the number of threads for matching pairs of a batch.
+     *
+     * @param parallelism number of threads from the settings (0 = number of processors)
+     * @return number of threads
+     */
+    private static int getBatchParallelism(int parallelism){
+        if(parallelism <= 0){
+            return Runtime.getRuntime().availableProcessors();
+        }
+        return parallelism;
+    }
+
+    /**
+     * Reads the pairs of the json array in "request" one after another and writes the matching suggestions in order of the pairs into "outputStream".
+     *
+     * Every pair is converted and matched in "batchPool" like a request of "/json".
+     * Equal input objects of following pairs are converted and prepared only one time ("preparedInputObjects", by the digest of their json).
+     * If a pair can not be matched, its line contains only the "error".
+     * If the request is no valid json array, the line of the invalid pair contains the "error" and no more pairs are read.
+     * If the output can not be written (client disconnected) or the thread is interrupted, the pairs in progress are cancelled.
+     *
+     * @param request contains a json array of objects, each with "inputObjectData" and "outputObjectData"
+     * @param outputStream receives one line of matching suggestions for every pair
+     * @throws IOException if the output can not be written
+     */
+    public static void generateBatchMatchingSuggestions(InputStream request, OutputStream outputStream) throws IOException {
+        JsonReader reader = new JsonReader(new BufferedReader(new InputStreamReader(request, StandardCharsets.UTF_8)));
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        Map<String, Future<InputObject>> preparedInputObjects = Collections.synchronizedMap(new LinkedHashMap<String, Future<InputObject>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Future<InputObject>> eldest) {
+                return size() > maxPreparedInputObjects;
+            }
+        });
+        Deque<Future<String>> pairsInProgress = new ArrayDeque<>();
+        boolean morePairs = true;
+
+        //lenient like "Gson.fromJson"
+        reader.setLenient(true);
+        try {
+            reader.beginArray();
+        }
+        catch (IOException | RuntimeException e) {
+            pairsInProgress.add(CompletableFuture.failedFuture(e));
+            morePairs = false;
+        }
+
+        try {
+            while (morePairs || !pairsInProgress.isEmpty()) {
+                while (morePairs && pairsInProgress.size() < maxPairsInProgress) {
+                    try {
+                        JsonElement pair = readPair(reader);
+
+                        if(pair == null){
+                            morePairs = false;
+                        }
+                        else {
+                            pairsInProgress.add(batchPool.submit(() -> matchPair(pair, preparedInputObjects)));
+                        }
+                    }
+                    catch (IOException | RuntimeException e) {
+                        pairsInProgress.add(CompletableFuture.failedFuture(e));
+                        morePairs = false;
+                    }
+                }
+                if(pairsInProgress.isEmpty()){
+                    break;
+                }
+
+                writer.write(getResult(pairsInProgress.poll()));
+                writer.write('\n');
+                writer.flush();
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while matching a batch");
+        }
+        finally {
+            //empty, if all pairs are written
+            for(Future<String> pair : pairsInProgress){
+                pair.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Reads the next pair of the json array in "reader".
+     *
+     * @param reader contains the request, after the beginning of the array
+     * @return the pair or null, if there are no more pairs
+     * @throws IOException if the request can not be read or is no valid json array
+     */
+    private static JsonElement readPair(JsonReader reader) throws IOException {
+        if(!reader.hasNext()){
+            reader.endArray();
+            return null;
+        }
+        return JsonParser.parseReader(reader);
+    }
+
+    /**
+     * Converts and matches one pair of a batch.
+     *
+     * @param pair contains an object with "inputObjectData" and "outputObjectData"
+     * @param preparedInputObjects contains the already prepared input objects of the batch
+     * @return the matching suggestions in json format
+     * @throws ExecutionException if the input object can not be prepared
+     * @throws InterruptedException if the thread is interrupted while another pair prepares the input object
+     */
+    private static String matchPair(JsonElement pair, Map<String, Future<InputObject>> preparedInputObjects) throws ExecutionException, InterruptedException {
+        JsonObject pairObject = pair.getAsJsonObject();
+        InputObject inputObject = getPreparedInputObject(pairObject, preparedInputObjects);
+
+        long startTime = System.nanoTime();
+        List<MatchingProperty> outputObjectPropertyList = outputConverter.jsonToMatchingPropertyList(pairObject);
+        MatchingMetrics.recordSince(MatchingMetrics.conversion, startTime);
+
+        return MatchingService.createAllOutputs(outputObjectPropertyList, MatchingService.calculateMatchingSuggestions(inputObject, outputObjectPropertyList));
+    }
+
+    /**
+     * Gets the prepared input object of a pair from "preparedInputObjects" or converts and prepares it.
+     * The preparation runs outside of the lock of the map (only its "FutureTask" is put into it),
+     * pairs with the same input object wait for the pair that prepares it.
+     * If the input object was already removed from "preparedInputObjects", it is prepared again.
+     *
+     * @param pairObject contains an object with "inputObjectData"
+     * @param preparedInputObjects contains the already prepared input objects of the batch
+     * @return the prepared input object
+     * @throws ExecutionException if the input object can not be prepared
+     * @throws InterruptedException if the thread is interrupted while another pair prepares the input object
+     */
+    private static InputObject getPreparedInputObject(JsonObject pairObject, Map<String, Future<InputObject>> preparedInputObjects) throws ExecutionException, InterruptedException {
+        FutureTask<InputObject> preparation = new FutureTask<>(() -> {
+            long startTime = System.nanoTime();
+            List<MatchingProperty> inputObjectPropertyList = inputConverter.jsonToMatchingPropertyList(pairObject);
+            MatchingMetrics.recordSince(MatchingMetrics.conversion, startTime);
+
+            return MatchingService.prepareInputObject(inputObjectPropertyList);
+        });
+        Future<InputObject> preparedInputObject = preparedInputObjects.putIfAbsent(digest(String.valueOf(pairObject.get(inputObjectIdentifier))), preparation);
+
+        if(preparedInputObject == null){
+            preparation.run();
+            preparedInputObject = preparation;
+        }
+
+        try {
+            return preparedInputObject.get();
+        }
+        catch (ExecutionException e) {
+            //the error of the conversion, like without "preparedInputObjects"
+            if(e.getCause() instanceof RuntimeException){
+                throw (RuntimeException) e.getCause();
+            }
+            if(e.getCause() instanceof Error){
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Creates the key of an input object in "preparedInputObjects", the SHA-256 digest of its json
+     * (so that the json of the input objects is not kept).
+     *
+     * @param inputObjectJson contains the json of an input object
+     * @return the digest in Base64
+     */
+    private static String digest(String inputObjectJson){
+        try {
+            return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(inputObjectJson.getBytes(StandardCharsets.UTF_8)));
+        }
+        catch (NoSuchAlgorithmException e) {
+            //every Java platform has SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Waits for the result of a pair.
+     *
+     * @param result contains the running matching of a pair
+     * @return the matching suggestions in json format or the error in json format
+     * @throws InterruptedException if the thread is interrupted while it waits
+     */
+    private static String getResult(Future<String> result) throws InterruptedException {
+        try {
+            return result.get();
+        }
+        catch (ExecutionException e) {
+            e.getCause().printStackTrace();
+            return createError(String.valueOf(e.getCause()));
+        }
+    }
+
+    /**
+     * Creates the line for a pair that could not be matched.
+     *
+     * @param message contains the description of the error
+     * @return json object with the "error"
+     */
+    private static String createError(String message){
+        JsonObject error = new JsonObject();
+        error.addProperty(errorIdentifier, message);
+
+        return error.toString();
+    }
+}
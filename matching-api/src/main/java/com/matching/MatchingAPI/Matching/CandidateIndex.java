@@ -0,0 +1,127 @@
+package com.matching.MatchingAPI.Matching;
+
+import java.util.*;
+
+/**
+ * Inverted index of the character trigrams of input properties, to find candidates for an output property
+ * without comparing it with every input property.
+ *
+ * The trigrams of an input property are the trigrams of its name and of all labels of its synonym class
+ * (the words of every name in lower case, written together, like for the similarity calculation).
+ * The candidates of an output property are the input properties with most trigrams in common with its name.
+ */
+class CandidateIndex {
+    private final List<InputProperty> properties;
+    //trigram -> indices of the input properties containing it (first entry is the number of indices)
+    private final Map<Long, int[]> postings = new HashMap<>();
+
+    /**
+     * Builds the index over "properties".
+     *
+     * @param properties contains input properties with their synonym labels
+     */
+    CandidateIndex(List<InputProperty> properties){
+        this.properties = properties;
+        Set<Long> propertyTrigrams = new HashSet<>();
+
+        for (int i = 0; i < properties.size(); i++) {
+            propertyTrigrams.clear();
+
+            for(String name : properties.get(i).getComparisonNames()){
+                collectTrigrams(name, propertyTrigrams);
+            }
+            for(Long trigram : propertyTrigrams){
+                addPosting(trigram, i);
+            }
+        }
+    }
+
+    /**
+     * Adds the index of an input property to the posting list of a trigram.
+     *
+     * @param trigram contains a packed trigram
+     * @param propertyIndex index of the input property
+     */
+    private void addPosting(Long trigram, int propertyIndex){
+        int[] list = postings.get(trigram);
+
+        if(list == null){
+            list = new int[4];
+            postings.put(trigram, list);
+        }
+        else if(list[0] + 1 == list.length){
+            list = Arrays.copyOf(list, list.length * 2);
+            postings.put(trigram, list);
+        }
+
+        list[++list[0]] = propertyIndex;
+    }
+
+    /**
+     * Adds the trigrams of a name (its words in lower case written together) packed into longs to "trigrams".
+     *
+     * @param name contains a property name or label
+     * @param trigrams receives the trigrams
+     */
+    static void collectTrigrams(String name, Set<Long> trigrams){
+        String text = String.join("", PropertyNameTokenizer.tokenize(name));
+
+        for (int i = 0; i + SimilarityKernel.shingleLength <= text.length(); i++) {
+            trigrams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+    }
+
+    /**
+     * Selects the "candidateLimit" input properties with most trigrams in common with "name"
+     * (with equal number, the earlier input property).
+     * If there are not more input properties than "candidateLimit" (or it is 0), all of them are candidates.
+     *
+     * @param name contains the name of an output property
+     * @param candidateLimit maximum number of candidates (0 = all)
+     * @return the candidates in the order of the input properties
+     */
+    List<InputProperty> selectCandidates(String name, int candidateLimit){
+        if(candidateLimit <= 0 || properties.size() <= candidateLimit){
+            return properties;
+        }
+
+        Set<Long> trigrams = new HashSet<>();
+        collectTrigrams(name, trigrams);
+
+        int[] sharedTrigrams = new int[properties.size()];
+        for(Long trigram : trigrams){
+            int[] list = postings.get(trigram);
+
+            if(list != null){
+                for (int i = 1; i <= list[0]; i++) {
+                    sharedTrigrams[list[i]]++;
+                }
+            }
+        }
+
+        //number of properties for every number of shared trigrams, to find the number of the last selected property
+        int[] propertiesWithCount = new int[trigrams.size() + 1];
+        for(int count : sharedTrigrams){
+            propertiesWithCount[count]++;
+        }
+
+        int lastCount = trigrams.size(), betterProperties = 0;
+        while (betterProperties + propertiesWithCount[lastCount] < candidateLimit) {
+            betterProperties += propertiesWithCount[lastCount];
+            lastCount--;
+        }
+        int remainingPlaces = candidateLimit - betterProperties;
+
+        List<InputProperty> candidates = new ArrayList<>(candidateLimit);
+        for (int i = 0; i < sharedTrigrams.length; i++) {
+            if(sharedTrigrams[i] > lastCount){
+                candidates.add(properties.get(i));
+            }
+            else if(sharedTrigrams[i] == lastCount && remainingPlaces > 0){
+                candidates.add(properties.get(i));
+                remainingPlaces--;
+            }
+        }
+        return candidates;
+    }
+}
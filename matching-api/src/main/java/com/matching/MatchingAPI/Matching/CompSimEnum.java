@@ -1,20 +1,26 @@
 package com.matching.MatchingAPI.Matching;
 
 /**
- * Contains the Index for the different compositional similarity methods.
+ * Contains the Index for the different compositional similarity methods
+ * and the base algorithms ("Jaro Winkler", "Jaccard", "Normalized Levenshtein") each method needs, as bits of their indices.
  */
 public enum CompSimEnum {
-    jaroWinkler(0),
-    jaccard(1),
-    normLevenshtein(2),
-    min(3),
-    max(4),
-    average(5),
-    weighted(6);
+    jaroWinkler(0, 0b001),
+    jaccard(1, 0b010),
+    normLevenshtein(2, 0b100),
+    min(3, 0b111),
+    max(4, 0b111),
+    average(5, 0b111),
+    //not yet realized, always 0.0
+    weighted(6, 0b000);
+
+    final static int allBaseMetrics = 0b111;
 
     public final int index;
+    final int baseMetrics;
 
-    private CompSimEnum(int index){
+    private CompSimEnum(int index, int baseMetrics){
         this.index = index;
+        this.baseMetrics = baseMetrics;
     }
 }
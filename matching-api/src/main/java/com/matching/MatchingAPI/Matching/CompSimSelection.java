@@ -0,0 +1,59 @@
+package com.matching.MatchingAPI.Matching;
+
+/**
+ * The compositional methods ({@link CompSimEnum}) a request wants as matching suggestions.
+ * Only these methods get heaps and an output section, and only the base algorithms they need are calculated
+ * for the ordered names (the word order itself always needs the average of all three, see {@link WordAlignment}).
+ */
+public class CompSimSelection {
+    final static CompSimSelection all = new CompSimSelection(new boolean[]{true, true, true, true, true, true, true});
+
+    private final boolean[] selected;
+    private final int baseMetrics;
+
+    private CompSimSelection(boolean[] selected){
+        int baseMetrics = 0;
+
+        for(CompSimEnum method : CompSimEnum.values()){
+            if(selected[method.index]){
+                baseMetrics |= method.baseMetrics;
+            }
+        }
+        this.selected = selected;
+        this.baseMetrics = baseMetrics;
+    }
+
+    /**
+     * Reads the compositional methods from a comma separated list of their names (like "jaroWinkler,max").
+     *
+     * @param methods contains the names of the methods (null or empty for all methods)
+     * @return the selected methods
+     * @throws IllegalArgumentException if a name is no {@link CompSimEnum}
+     */
+    public static CompSimSelection parse(String methods){
+        if(methods == null || methods.isBlank()){
+            return all;
+        }
+
+        boolean[] selected = new boolean[CompSimEnum.values().length];
+        for(String method : methods.split(",")){
+            selected[CompSimEnum.valueOf(method.trim()).index] = true;
+        }
+        return new CompSimSelection(selected);
+    }
+
+    /**
+     * @param index contains the index of a {@link CompSimEnum}
+     * @return true, if the method is selected
+     */
+    boolean isSelected(int index){
+        return selected[index];
+    }
+
+    /**
+     * @return the base algorithms the selected methods need, as bits of their indices
+     */
+    int getBaseMetrics(){
+        return baseMetrics;
+    }
+}
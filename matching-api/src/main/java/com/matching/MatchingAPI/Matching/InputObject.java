@@ -0,0 +1,42 @@
+package com.matching.MatchingAPI.Matching;
+
+import com.matching.MatchingAPI.Ontology.UnitDimensionResolver;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Input object prepared for matching: its properties with their synonym labels, partitioned by the blocks of their units,
+ * and the {@link CandidateIndex} of the blocks (if candidates are selected).
+ * Keeps the {@link UnitDimensionResolver} that partitioned the properties, so that the output properties get their blocks from the same ontology.
+ * Gets created once for every input object, so that it can be matched with many output objects.
+ */
+public class InputObject {
+    private final Map<Object, List<InputProperty>> inPropertiesByUnitBlock;
+    private final Map<Object, CandidateIndex> candidateIndexByUnitBlock;
+    private final UnitDimensionResolver unitDimensionResolver;
+    private final int propertyCount;
+
+    public InputObject(Map<Object, List<InputProperty>> inPropertiesByUnitBlock, Map<Object, CandidateIndex> candidateIndexByUnitBlock, UnitDimensionResolver unitDimensionResolver, int propertyCount){
+        this.inPropertiesByUnitBlock = inPropertiesByUnitBlock;
+        this.candidateIndexByUnitBlock = candidateIndexByUnitBlock;
+        this.unitDimensionResolver = unitDimensionResolver;
+        this.propertyCount = propertyCount;
+    }
+
+    public Map<Object, List<InputProperty>> getInPropertiesByUnitBlock() {
+        return inPropertiesByUnitBlock;
+    }
+
+    public Map<Object, CandidateIndex> getCandidateIndexByUnitBlock() {
+        return candidateIndexByUnitBlock;
+    }
+
+    public UnitDimensionResolver getUnitDimensionResolver() {
+        return unitDimensionResolver;
+    }
+
+    public int getPropertyCount() {
+        return propertyCount;
+    }
+}
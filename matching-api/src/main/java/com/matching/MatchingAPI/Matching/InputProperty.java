@@ -0,0 +1,41 @@
+package com.matching.MatchingAPI.Matching;
+
+/**
+ * Property of the input object together with the names it gets compared by.
+ * If there is a synonym class for the property, these are the labels of the class (and the class name), else only the name of the property.
+ * Gets created once for every input property of a matching, so that the synonym class is searched only one time.
+ * The comparison names are taken as {@link PreparedProperty} from the registry of {@link StringSimilarityService} at the same time.
+ */
+public class InputProperty {
+    private final MatchingProperty property;
+    private final String[] comparisonNames;
+    private final PreparedProperty[] preparedNames;
+    private final boolean synonymClassFound;
+
+    public InputProperty(MatchingProperty property, String[] synonymLabels){
+        this.property = property;
+        this.synonymClassFound = synonymLabels != null;
+        this.comparisonNames = synonymClassFound ? synonymLabels : new String[]{property.getName()};
+        this.preparedNames = new PreparedProperty[comparisonNames.length];
+
+        for (int i = 0; i < comparisonNames.length; i++) {
+            preparedNames[i] = StringSimilarityService.preparedProperties.get(comparisonNames[i]);
+        }
+    }
+
+    public MatchingProperty getProperty() {
+        return property;
+    }
+
+    public String[] getComparisonNames() {
+        return comparisonNames;
+    }
+
+    public PreparedProperty[] getPreparedNames() {
+        return preparedNames;
+    }
+
+    public boolean isSynonymClassFound() {
+        return synonymClassFound;
+    }
+}
@@ -0,0 +1,628 @@
+package com.matching.MatchingAPI.Matching;
+
+import com.google.gson.*;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Store for the correct matched pairs of every output api (from "/matchingWords").
+ *
+ * Every output api has a snapshot with its pairs ("api.snapshot", json object like {"outPropertyName": [inPropertyName, ...]})
+ * and an append-only log with the pairs added since the snapshot ("api.log", one pair as json object per line).
+ * All pairs are also kept in memory, indexed by output api and output property name.
+ * - new pairs are only appended to the log, under the lock of the stripe of the output api
+ *   (if the write fails, the log is truncated to its length before the write)
+ * - the logs are written to disk (fsync) by one commit thread, once for all pairs added in the meantime (group commit),
+ *   "addMatchingPairs" returns, when its pairs are on disk, and only then adds them to memory
+ * - if the log of an output api contains more than "compactionThreshold" pairs, a background thread
+ *   writes the pairs of the api to a new snapshot and empties the log
+ * - the former json file of an output api ("api" without extension) is imported, if the api has no snapshot and no log
+ * An output api is loaded on its first use or with "loadAllApis". Replaying a log again after a crash does not change the pairs.
+ * Additionally the names of all input properties matched with an output property name (in any output api)
+ * are indexed, so that the matching can look up confirmed pairs ("isConfirmedPair").
+ */
+public class MatchedPairsStore {
+    final static String snapshotExtension = ".snapshot", logExtension = ".log", temporaryExtension = ".tmp",
+            outPropertyIdentifier = "outPropertyName", inPropertyIdentifier = "inPropertyName";
+    final static int lockStripes = 16;
+    final static Gson gson = new Gson();
+
+    private final Path directory;
+    private final int compactionThreshold;
+    private final ReentrantLock[] locks = new ReentrantLock[lockStripes];
+    private final Map<String, ApiPairs> pairsByApi = new ConcurrentHashMap<>();
+    //output property name -> names of the input properties matched with it in any output api
+    private final Map<String, Set<String>> confirmedInPropertyNames = new ConcurrentHashMap<>();
+
+    //group commit: number of appended and of committed log writes, output apis with uncommitted log writes
+    private final AtomicLong appendedWrites = new AtomicLong();
+    private final Object commitMonitor = new Object();
+    private long committedWrites, failedWrites;
+    private IOException commitFailure;
+    private final Set<ApiPairs> uncommittedApis = ConcurrentHashMap.newKeySet();
+    private final Thread commitThread;
+    private final ExecutorService compactionExecutor;
+    private volatile boolean closed;
+
+    /**
+     * Matched pairs of one output api with its log.
+     * The pairs are changed only under the lock of the api and can be read without lock.
+     */
+    private static class ApiPairs {
+        final String outputApiName;
+        final Map<String, Set<String>> confirmedInPropertyNames;
+        //output property name -> in property names (replaced as a whole, when a name is added)
+        final Map<String, List<JsonElement>> inPropertyNamesByOutProperty = new ConcurrentHashMap<>();
+        FileChannel log;
+        int loggedPairs;
+        //log writes that are not yet committed and added to memory (the log is not compacted meanwhile)
+        int unpublishedWrites;
+        boolean compactionScheduled;
+
+        ApiPairs(String outputApiName, Map<String, Set<String>> confirmedInPropertyNames){
+            this.outputApiName = outputApiName;
+            this.confirmedInPropertyNames = confirmedInPropertyNames;
+        }
+
+        /**
+         * Checks, if the pair is already saved (names are compared as json, like in the former json files).
+         *
+         * @param outPropertyName contains the name of the output property
+         * @param inPropertyName contains the name of the input property
+         * @return true, if the pair is already saved
+         */
+        boolean contains(String outPropertyName, JsonElement inPropertyName){
+            List<JsonElement> inPropertyNames = inPropertyNamesByOutProperty.get(outPropertyName);
+
+            if(inPropertyNames != null){
+                String inPropertyJson = String.valueOf(inPropertyName);
+
+                for(JsonElement savedName : inPropertyNames){
+                    if(savedName.toString().equals(inPropertyJson)){
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Adds the pair, if it is not already saved, also to "confirmedInPropertyNames".
+         *
+         * @param outPropertyName contains the name of the output property
+         * @param inPropertyName contains the name of the input property
+         * @return true, if the pair was added
+         */
+        boolean add(String outPropertyName, JsonElement inPropertyName){
+            if(contains(outPropertyName, inPropertyName)){
+                return false;
+            }
+
+            List<JsonElement> inPropertyNames = new ArrayList<>(inPropertyNamesByOutProperty.getOrDefault(outPropertyName, Collections.emptyList()));
+            inPropertyNames.add(inPropertyName == null ? JsonNull.INSTANCE : inPropertyName);
+            inPropertyNamesByOutProperty.put(outPropertyName, Collections.unmodifiableList(inPropertyNames));
+            confirmedInPropertyNames.computeIfAbsent(outPropertyName, name -> ConcurrentHashMap.newKeySet()).add(toPropertyName(inPropertyName));
+
+            return true;
+        }
+    }
+
+    /**
+     * Creates the store for the files in "directory" and starts its commit thread.
+     *
+     * @param directory contains the snapshots and logs of the output apis
+     * @param compactionThreshold number of pairs in the log of an output api, after which it is compacted
+     */
+    public MatchedPairsStore(Path directory, int compactionThreshold){
+        this.directory = directory;
+        this.compactionThreshold = compactionThreshold;
+
+        for (int i = 0; i < lockStripes; i++) {
+            locks[i] = new ReentrantLock();
+        }
+
+        commitThread = new Thread(this::commitLogs, "matched-pairs-commit");
+        commitThread.setDaemon(true);
+        commitThread.start();
+        compactionExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "matched-pairs-compaction");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns the lock of the stripe of an output api.
+     *
+     * @param outputApiName contains the name of the output api
+     * @return the lock
+     */
+    private ReentrantLock lockOf(String outputApiName){
+        return locks[Math.floorMod(outputApiName.hashCode(), lockStripes)];
+    }
+
+    /**
+     * Adds the pairs of "newMatchingPairsArray" (objects with "outPropertyName" and "inPropertyName") to the output api,
+     * if they are not already saved, and waits until they are on disk.
+     * The pairs are added to memory (and can be found by the matching) only after they are committed.
+     * If they can not be committed, their lines may stay in the log, so the client has to send them again
+     * (a pair that is saved twice in the log is loaded once).
+     *
+     * @param outputApiName contains the name of the output api
+     * @param newMatchingPairsArray contains the new correct matched pairs
+     * @throws IOException if the pairs can not be written
+     */
+    public void addMatchingPairs(String outputApiName, JsonArray newMatchingPairsArray) throws IOException {
+        ReentrantLock lock = lockOf(outputApiName);
+        ApiPairs apiPairs;
+        List<JsonObject> newPairs = new ArrayList<>();
+        long write;
+
+        lock.lock();
+        try {
+            apiPairs = getApiPairs(outputApiName);
+            Set<String> newPairJsons = new HashSet<>();
+            StringBuilder records = new StringBuilder();
+
+            for(JsonElement pairElement : newMatchingPairsArray){
+                JsonObject pair = pairElement.getAsJsonObject();
+                String outPropertyName = pair.get(outPropertyIdentifier).getAsString();
+                JsonElement inPropertyName = pair.get(inPropertyIdentifier);
+
+                JsonObject record = new JsonObject();
+                record.addProperty(outPropertyIdentifier, outPropertyName);
+                record.add(inPropertyIdentifier, inPropertyName);
+                String recordJson = record.toString();
+
+                if(!apiPairs.contains(outPropertyName, inPropertyName) && newPairJsons.add(recordJson)){
+                    newPairs.add(record);
+                    records.append(recordJson).append('\n');
+                }
+            }
+            if(newPairs.isEmpty()){
+                return;
+            }
+
+            appendToLog(apiPairs, records.toString());
+            apiPairs.loggedPairs += newPairs.size();
+            apiPairs.unpublishedWrites++;
+
+            //the api must be uncommitted before the write is counted, so that the commit thread forces its log
+            uncommittedApis.add(apiPairs);
+            write = appendedWrites.incrementAndGet();
+        }
+        finally {
+            lock.unlock();
+        }
+
+        IOException commitFailure = null;
+        try {
+            awaitCommit(write);
+        }
+        catch (IOException e) {
+            commitFailure = e;
+        }
+
+        lock.lock();
+        try {
+            apiPairs.unpublishedWrites--;
+
+            if(commitFailure == null){
+                for(JsonObject pair : newPairs){
+                    apiPairs.add(pair.get(outPropertyIdentifier).getAsString(), pair.get(inPropertyIdentifier));
+                }
+            }
+            if(apiPairs.unpublishedWrites == 0 && apiPairs.loggedPairs > compactionThreshold && !apiPairs.compactionScheduled && !closed){
+                apiPairs.compactionScheduled = true;
+                compactionExecutor.execute(() -> compact(apiPairs));
+            }
+        }
+        finally {
+            lock.unlock();
+        }
+
+        if(commitFailure != null){
+            throw commitFailure;
+        }
+    }
+
+    /**
+     * Appends "records" to the log of an output api.
+     * If the write fails, the log is truncated to its length before, so that the next records do not follow an incomplete line.
+     * Needs the lock of the output api.
+     *
+     * @param apiPairs contains the log of the output api
+     * @param records contains the lines of the new pairs
+     * @throws IOException if the records can not be written
+     */
+    private static void appendToLog(ApiPairs apiPairs, String records) throws IOException {
+        long logLength = apiPairs.log.position();
+        ByteBuffer buffer = ByteBuffer.wrap(records.getBytes(StandardCharsets.UTF_8));
+
+        try {
+            while(buffer.hasRemaining()){
+                apiPairs.log.write(buffer);
+            }
+        }
+        catch (IOException e) {
+            try {
+                apiPairs.log.truncate(logLength);
+                apiPairs.log.position(logLength);
+            }
+            catch (IOException truncateFailure) {
+                e.addSuppressed(truncateFailure);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the names of the input properties matched with an output property.
+     *
+     * @param outputApiName contains the name of the output api
+     * @param outPropertyName contains the name of the output property
+     * @return the names of the input properties (empty, if there are none)
+     * @throws IOException if the files of the output api can not be read
+     */
+    public List<JsonElement> getInPropertyNames(String outputApiName, String outPropertyName) throws IOException {
+        return loadApiPairs(outputApiName).inPropertyNamesByOutProperty.getOrDefault(outPropertyName, Collections.emptyList());
+    }
+
+    /**
+     * Returns the pairs of an output api and loads them under the lock of the output api, if it is used the first time.
+     *
+     * @param outputApiName contains the name of the output api
+     * @return the pairs of the output api
+     * @throws IOException if the files of the output api can not be read
+     */
+    private ApiPairs loadApiPairs(String outputApiName) throws IOException {
+        ApiPairs apiPairs = pairsByApi.get(outputApiName);
+
+        if(apiPairs == null){
+            ReentrantLock lock = lockOf(outputApiName);
+
+            lock.lock();
+            try {
+                apiPairs = getApiPairs(outputApiName);
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+        return apiPairs;
+    }
+
+    /**
+     * Checks, if the pair was confirmed in any output api.
+     *
+     * @param outPropertyName contains the name of the output property
+     * @param inPropertyName contains the name of the input property
+     * @return true, if the pair was confirmed
+     */
+    public boolean isConfirmedPair(String outPropertyName, String inPropertyName){
+        Set<String> inPropertyNames = confirmedInPropertyNames.get(outPropertyName);
+
+        return inPropertyNames != null && inPropertyNames.contains(inPropertyName);
+    }
+
+    /**
+     * Checks, if any pair with the output property was confirmed in any output api.
+     *
+     * @param outPropertyName contains the name of the output property
+     * @return true, if there is a confirmed pair
+     */
+    public boolean hasConfirmedPairs(String outPropertyName){
+        return confirmedInPropertyNames.containsKey(outPropertyName);
+    }
+
+    /**
+     * Loads the pairs of every output api with a snapshot, log or former json file in the directory.
+     * An output api, that can not be loaded, is skipped.
+     *
+     * @throws IOException if the directory can not be read
+     */
+    public void loadAllApis() throws IOException {
+        if(!Files.isDirectory(directory)){
+            return;
+        }
+
+        Set<String> outputApiNames = new TreeSet<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for(Path file : files){
+                String fileName = file.getFileName().toString();
+
+                if(!Files.isRegularFile(file) || fileName.endsWith(temporaryExtension)){
+                    continue;
+                }
+                if(fileName.endsWith(snapshotExtension)){
+                    outputApiNames.add(fileName.substring(0, fileName.length() - snapshotExtension.length()));
+                }
+                else if(fileName.endsWith(logExtension)){
+                    outputApiNames.add(fileName.substring(0, fileName.length() - logExtension.length()));
+                }
+                else {
+                    outputApiNames.add(fileName);
+                }
+            }
+        }
+
+        for(String outputApiName : outputApiNames){
+            try {
+                loadApiPairs(outputApiName);
+            }
+            catch (IOException | JsonParseException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Converts the json of an input property name to the name (a string without quotation marks, other json as it is).
+     *
+     * @param inPropertyName contains the json of the name
+     * @return the name
+     */
+    static String toPropertyName(JsonElement inPropertyName){
+        if(inPropertyName != null && inPropertyName.isJsonPrimitive()){
+            return inPropertyName.getAsString();
+        }
+        return String.valueOf(inPropertyName);
+    }
+
+    /**
+     * Returns the pairs of an output api and loads them, if it is used the first time.
+     * Needs the lock of the output api.
+     *
+     * @param outputApiName contains the name of the output api
+     * @return the pairs of the output api
+     * @throws IOException if the files of the output api can not be read
+     */
+    private ApiPairs getApiPairs(String outputApiName) throws IOException {
+        ApiPairs apiPairs = pairsByApi.get(outputApiName);
+
+        if(apiPairs == null){
+            apiPairs = readApiPairs(outputApiName);
+            pairsByApi.put(outputApiName, apiPairs);
+        }
+        return apiPairs;
+    }
+
+    /**
+     * Loads the pairs of an output api from its snapshot (or its former json file) and its log.
+     * An incomplete last line of the log (write was interrupted) is removed.
+     *
+     * @param outputApiName contains the name of the output api
+     * @return the pairs of the output api with its opened log
+     * @throws IOException if the files of the output api can not be read
+     */
+    private ApiPairs readApiPairs(String outputApiName) throws IOException {
+        ApiPairs apiPairs = new ApiPairs(outputApiName, confirmedInPropertyNames);
+        Path snapshot = directory.resolve(outputApiName + snapshotExtension), log = directory.resolve(outputApiName + logExtension);
+        Path formerFile = directory.resolve(outputApiName);
+
+        Files.createDirectories(directory);
+        if(Files.isRegularFile(snapshot)){
+            readSnapshot(snapshot, apiPairs);
+        }
+        else if(!Files.exists(log) && Files.isRegularFile(formerFile)){
+            readSnapshot(formerFile, apiPairs);
+            writeSnapshot(apiPairs);
+        }
+
+        apiPairs.log = FileChannel.open(log, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        byte[] logBytes = Files.readAllBytes(log);
+        int completeLength = logBytes.length;
+
+        while(completeLength > 0 && logBytes[completeLength - 1] != '\n'){
+            completeLength--;
+        }
+        apiPairs.log.truncate(completeLength);
+        apiPairs.log.position(completeLength);
+
+        for(String record : new String(logBytes, 0, completeLength, StandardCharsets.UTF_8).split("\n")){
+            if(!record.isEmpty()){
+                JsonObject pair = gson.fromJson(record, JsonObject.class);
+
+                apiPairs.add(pair.get(outPropertyIdentifier).getAsString(), pair.get(inPropertyIdentifier));
+                apiPairs.loggedPairs++;
+            }
+        }
+
+        return apiPairs;
+    }
+
+    /**
+     * Adds the pairs of a snapshot (json object with the output property names and arrays of input property names) to "apiPairs".
+     *
+     * @param snapshot contains the path of the snapshot
+     * @param apiPairs receives the pairs
+     * @throws IOException if the snapshot can not be read
+     */
+    private static void readSnapshot(Path snapshot, ApiPairs apiPairs) throws IOException {
+        JsonObject matchingPairsJson = gson.fromJson(new String(Files.readAllBytes(snapshot), StandardCharsets.UTF_8), JsonObject.class);
+
+        if(matchingPairsJson != null){
+            for(Map.Entry<String, JsonElement> entry : matchingPairsJson.entrySet()){
+                for(JsonElement inPropertyName : entry.getValue().getAsJsonArray()){
+                    apiPairs.add(entry.getKey(), inPropertyName);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes all pairs of "apiPairs" to a temporary file, forces it to disk and replaces the snapshot with it.
+     *
+     * @param apiPairs contains the pairs of an output api
+     * @throws IOException if the snapshot can not be written
+     */
+    private void writeSnapshot(ApiPairs apiPairs) throws IOException {
+        JsonObject matchingPairsJson = new JsonObject();
+
+        for(Map.Entry<String, List<JsonElement>> entry : apiPairs.inPropertyNamesByOutProperty.entrySet()){
+            JsonArray inPropertyNames = new JsonArray();
+
+            for(JsonElement inPropertyName : entry.getValue()){
+                inPropertyNames.add(inPropertyName);
+            }
+            matchingPairsJson.add(entry.getKey(), inPropertyNames);
+        }
+
+        Path snapshot = directory.resolve(apiPairs.outputApiName + snapshotExtension);
+        Path temporarySnapshot = directory.resolve(apiPairs.outputApiName + snapshotExtension + temporaryExtension);
+
+        try (FileChannel channel = FileChannel.open(temporarySnapshot, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(matchingPairsJson.toString().getBytes(StandardCharsets.UTF_8));
+
+            while(buffer.hasRemaining()){
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temporarySnapshot, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Writes the pairs of an output api to a new snapshot and empties its log.
+     * If the snapshot can not be written, the log stays as it is.
+     *
+     * @param apiPairs contains the pairs of an output api
+     */
+    private void compact(ApiPairs apiPairs){
+        ReentrantLock lock = lockOf(apiPairs.outputApiName);
+
+        lock.lock();
+        try {
+            apiPairs.compactionScheduled = false;
+
+            //pairs that are in the log, but not yet in memory, would be lost by the snapshot (compacted again, when they are added)
+            if(!closed && apiPairs.unpublishedWrites == 0){
+                writeSnapshot(apiPairs);
+                apiPairs.log.truncate(0);
+                apiPairs.log.force(true);
+                apiPairs.loggedPairs = 0;
+            }
+        }
+        catch (IOException e) {
+            e.printStackTrace();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits until the log write with number "write" is committed.
+     *
+     * @param write number of the log write
+     * @throws IOException if the log could not be forced to disk
+     */
+    private void awaitCommit(long write) throws IOException {
+        synchronized (commitMonitor) {
+            commitMonitor.notifyAll();
+
+            while(committedWrites < write && failedWrites < write){
+                if(closed){
+                    throw new IOException("Matched pairs store is closed");
+                }
+                try {
+                    commitMonitor.wait();
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for the commit of matched pairs");
+                }
+            }
+            if(committedWrites < write){
+                throw new IOException("Matched pairs could not be committed", commitFailure);
+            }
+        }
+    }
+
+    /**
+     * Loop of the commit thread.
+     * Waits for appended log writes and forces the logs of all uncommitted output apis to disk at once,
+     * then all log writes appended until then are committed.
+     */
+    private void commitLogs(){
+        while(!closed){
+            long commitWrites;
+
+            synchronized (commitMonitor) {
+                while(!closed && appendedWrites.get() == Math.max(committedWrites, failedWrites)){
+                    try {
+                        commitMonitor.wait();
+                    }
+                    catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                commitWrites = appendedWrites.get();
+            }
+
+            IOException failure = null;
+            for(Iterator<ApiPairs> iterator = uncommittedApis.iterator(); iterator.hasNext(); ){
+                ApiPairs apiPairs = iterator.next();
+                iterator.remove();
+
+                try {
+                    apiPairs.log.force(false);
+                }
+                catch (IOException e) {
+                    e.printStackTrace();
+                    failure = e;
+                }
+            }
+
+            synchronized (commitMonitor) {
+                if(failure == null){
+                    committedWrites = commitWrites;
+                }
+                else {
+                    failedWrites = commitWrites;
+                    commitFailure = failure;
+                }
+                commitMonitor.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Stops the commit and compaction thread and closes all logs.
+     * Waits for a running compaction, not for not committed pairs.
+     *
+     * @throws IOException if a log can not be closed
+     */
+    public void close() throws IOException {
+        closed = true;
+        synchronized (commitMonitor) {
+            commitMonitor.notifyAll();
+        }
+        compactionExecutor.shutdown();
+
+        try {
+            commitThread.join();
+            compactionExecutor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        for(ApiPairs apiPairs : pairsByApi.values()){
+            apiPairs.log.close();
+        }
+    }
+}
@@ -1,28 +1,137 @@
 package com.matching.MatchingAPI.Matching;
 
+import com.matching.MatchingAPI.ComparableEntry;
 import com.matching.MatchingAPI.DataConversion.DataConverter;
 import com.matching.MatchingAPI.DataConversion.PartDatabaseConverter;
 import com.matching.MatchingAPI.DataConversion.VirtualSatelliteConverter;
+import com.matching.MatchingAPI.Entry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 /**
  * The API that process the matching requests.
- * Takes the to be matched objects in one string and transfer them to "MatchingService" with the corresponding converters (converts the objects to internal format).
+ * Takes the to be matched objects as request stream and transfer them to "MatchingService" with the corresponding converters (converts the objects to internal format).
+ * The matching suggestions of "/json" are written directly to the response stream ("/json?explain=true" adds the diagnostics of the request).
+ * "/json?methods=jaroWinkler,max" calculates and returns only these compositional methods (default all).
+ * "/batch" takes an array of such objects as request stream and returns the matching suggestions of every object as one line (NDJSON).
+ * Until the ontologies are loaded, both answer with "503 Service Unavailable" and "Retry-After".
+ * The matching of "/json" runs asynchronously in the executor of {@link MatchingAdmission}, so that the threads of the web server are free meanwhile.
+ * If the executor is saturated, "/json" is answered at once with "429 Too Many Requests" and "Retry-After".
+ * "/reloadOntologies" loads the ontologies again in the background, matching requests are answered meanwhile with the ontologies before.
  */
 @RestController
 public class MatchingAPI {
+    final static DataConverter inputConverter = new PartDatabaseConverter();
+    final static DataConverter outputConverter = new VirtualSatelliteConverter();
+    final static MediaType ndjson = MediaType.parseMediaType("application/x-ndjson");
+    final static MediaType plainText = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+    //seconds a client should wait before it tries again, while the ontologies are loaded
+    final static String retryAfterSeconds = "5";
+    //seconds a client should wait before it tries again, while the matching executor is saturated
+    final static String overloadedRetryAfterSeconds = "1";
+    //the matching of "/json" has no time limit (like before it was asynchronous)
+    final static long noTimeout = 0;
+
     @RequestMapping(method = RequestMethod.PUT, path = "/json")
-    public String returnJson(@RequestBody String jsonString) {
-        DataConverter inputConverter = new PartDatabaseConverter();
-        DataConverter outputConverter = new VirtualSatelliteConverter();
-        return new MatchingService().generateMatchingSuggestions(jsonString, inputConverter, outputConverter);
+    public DeferredResult<ResponseEntity<StreamingResponseBody>> returnJson(InputStream request, @RequestParam(required = false) String methods,
+                                                                           @RequestParam(defaultValue = "false") boolean explain, HttpServletResponse response) throws IOException {
+        if(!MatchingService.isReady()){
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            return null;
+        }
+
+        CompSimSelection selectedMethods;
+        try {
+            selectedMethods = CompSimSelection.parse(methods);
+        }
+        catch (IllegalArgumentException e) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "Unknown compositional method in \"" + methods + "\"");
+            return null;
+        }
+
+        if(MatchingService.matchingAdmission.isSaturated()){
+            MatchingService.matchingAdmission.reject();
+            return rejectOverloaded(response);
+        }
+
+        MatchingDiagnostics diagnostics = explain ? new MatchingDiagnostics() : null;
+        Entry<List<MatchingProperty>, List<MatchingProperty>> objectPropertyLists = MatchingService.readObjects(request, inputConverter, outputConverter, diagnostics);
+        long comparisons = MatchingService.estimateComparisons(objectPropertyLists.getKey(), objectPropertyLists.getValue().size());
+        DeferredResult<ResponseEntity<StreamingResponseBody>> matchingSuggestions = new DeferredResult<>(noTimeout);
+
+        boolean admitted = MatchingService.matchingAdmission.submit(comparisons, () -> {
+            try {
+                List<ComparableEntry<String, Double>[]>[] matchingSuggestionList = MatchingService.matchObjects(objectPropertyLists, selectedMethods, diagnostics);
+
+                matchingSuggestions.setResult(ResponseEntity.ok().contentType(plainText).body(outputStream ->
+                        MatchingService.writeMatchingSuggestions(objectPropertyLists.getValue(), matchingSuggestionList, diagnostics, outputStream)));
+            }
+            catch (Throwable e) {
+                //also an Error, otherwise the request would wait forever ("noTimeout")
+                matchingSuggestions.setErrorResult(e);
+            }
+        });
+
+        if(!admitted){
+            return rejectOverloaded(response);
+        }
+        return matchingSuggestions;
+    }
+
+    /**
+     * Answers a "/json" request with "429 Too Many Requests", because the executor of {@link MatchingAdmission} is saturated.
+     *
+     * @param response receives the status
+     * @return null, the request is already answered
+     */
+    private static DeferredResult<ResponseEntity<StreamingResponseBody>> rejectOverloaded(HttpServletResponse response){
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, overloadedRetryAfterSeconds);
+        return null;
+    }
+
+    @RequestMapping(method = RequestMethod.PUT, path = "/batch")
+    public ResponseEntity<StreamingResponseBody> returnBatch(InputStream request) {
+        if(!MatchingService.isReady()){
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, retryAfterSeconds).build();
+        }
+
+        //the pairs are read from the request while the matching suggestions are written
+        StreamingResponseBody matchingSuggestions = outputStream -> BatchMatchingService.generateBatchMatchingSuggestions(request, outputStream);
+
+        return ResponseEntity.ok().contentType(ndjson).body(matchingSuggestions);
+    }
+
+    @RequestMapping(method = RequestMethod.GET, path = "/statistics")
+    public String returnStatistics() {
+        return MatchingService.getStatistics();
+    }
+
+    @RequestMapping(method = RequestMethod.POST, path = "/reloadOntologies")
+    public ResponseEntity<String> reloadOntologies() {
+        MatchingService.reloadOntologies();
+
+        return ResponseEntity.accepted().body("reloading");
     }
 
     @RequestMapping(method = RequestMethod.PUT, path = "/matchingWords")
-    public String saveMatchingWords(@RequestBody String jsonString) {
+    public String saveMatchingWords(@RequestBody String jsonString) throws IOException {
         return MatchingService.addCorrectMatchingPairs(jsonString);
     }
 }
\ No newline at end of file
@@ -0,0 +1,114 @@
+package com.matching.MatchingAPI.Matching;
+
+import com.google.gson.JsonObject;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Admission control of the "/json" requests: the matchings run in an own executor with "threads" threads and a queue of "queueSize" requests,
+ * instead of on the threads of the web server, so that big objects can not block small requests or "/matchingWords".
+ * Every request has an estimated cost (number of compared names, see {@link MatchingService#estimateComparisons}).
+ * A request is rejected, if the queue is full or if the cost of all admitted and not finished requests would get higher than "maxPendingCost"
+ * (a request is always admitted, if no other request is pending, so that even the biggest object can be matched).
+ */
+public class MatchingAdmission {
+    private final ThreadPoolExecutor executor;
+    private final long maxPendingCost;
+    private final AtomicLong pendingCost = new AtomicLong();
+    private final LongAdder admittedRequests = new LongAdder(), rejectedRequests = new LongAdder();
+
+    /**
+     * @param threads number of threads that match requests at the same time (0 = number of processors)
+     * @param queueSize number of requests that wait for a thread at most
+     * @param maxPendingCost highest cost of all admitted and not finished requests (0 = no limit)
+     */
+    public MatchingAdmission(int threads, int queueSize, long maxPendingCost){
+        if(threads <= 0){
+            threads = Runtime.getRuntime().availableProcessors();
+        }
+
+        this.maxPendingCost = maxPendingCost;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(Math.max(queueSize, 1)), runnable -> {
+            Thread thread = new Thread(runnable, "matching-request");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Checks without the cost of a request, if it would be rejected, so that its objects do not need to be read.
+     *
+     * @return true, if all threads are busy and the queue is full
+     */
+    boolean isSaturated(){
+        return executor.getQueue().remainingCapacity() == 0;
+    }
+
+    /**
+     * Runs "matching" in the executor, if the request is admitted.
+     *
+     * @param cost contains the estimated cost of the request
+     * @param matching contains the matching of the request
+     * @return true, if the request is admitted, false if it is rejected
+     */
+    boolean submit(long cost, Runnable matching){
+        long pending = pendingCost.addAndGet(cost);
+
+        if(maxPendingCost > 0 && pending > maxPendingCost && pending != cost){
+            pendingCost.addAndGet(-cost);
+            reject();
+            return false;
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    matching.run();
+                }
+                finally {
+                    pendingCost.addAndGet(-cost);
+                }
+            });
+        }
+        catch (RejectedExecutionException e) {
+            pendingCost.addAndGet(-cost);
+            reject();
+            return false;
+        }
+
+        admittedRequests.increment();
+        MatchingMetrics.admittedRequests.increment();
+        return true;
+    }
+
+    /**
+     * Counts a rejected request.
+     */
+    void reject(){
+        rejectedRequests.increment();
+        MatchingMetrics.rejectedRequests.increment();
+    }
+
+    /**
+     * Creates json with the threads, the running and waiting requests, their cost and the admitted and rejected requests.
+     *
+     * @return the statistics
+     */
+    public JsonObject getStatistics(){
+        JsonObject statistics = new JsonObject();
+
+        statistics.addProperty("threads", executor.getMaximumPoolSize());
+        statistics.addProperty("running", executor.getActiveCount());
+        statistics.addProperty("queued", executor.getQueue().size());
+        statistics.addProperty("pendingCost", pendingCost.get());
+        statistics.addProperty("maxPendingCost", maxPendingCost);
+        statistics.addProperty("admitted", admittedRequests.sum());
+        statistics.addProperty("rejected", rejectedRequests.sum());
+        return statistics;
+    }
+}
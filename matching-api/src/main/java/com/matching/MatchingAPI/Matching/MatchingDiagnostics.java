@@ -0,0 +1,161 @@
+package com.matching.MatchingAPI.Matching;
+
+import com.google.gson.JsonObject;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Work counters and times of one matching request, for "/json?explain=true".
+ *
+ * The diagnostics of the request are the "current" ones of the thread that works for it, so that the stages can count their work
+ * without passing the diagnostics through every method. The web server thread that reads the request and the thread that writes the response
+ * get them with "begin" and "end", the threads of {@link MatchingAdmission} and "matchingPool" with {@link #callWith}.
+ * Without diagnostics ("current" is null) nothing is counted.
+ *
+ * The stage times are the same as the timers of {@link MatchingMetrics} (with every "compareStrings" timed),
+ * the times of parallel threads are added up, so they can be higher than the wall time.
+ * The allocated bytes are the ones of all these threads while they worked for the request.
+ */
+public class MatchingDiagnostics {
+    final static String[] stages = {"conversion", "synonymLookup", "unitBlocks", "compareStrings", "heapSelection", "output"};
+    private final static ThreadLocal<MatchingDiagnostics> current = new ThreadLocal<>();
+    private final static com.sun.management.ThreadMXBean threadBean = getThreadBean();
+
+    private final long startTime = System.nanoTime();
+    private long startAllocatedBytes;
+    private final Map<String, LongAdder> stageNanos = new ConcurrentHashMap<>();
+    final LongAdder compareStringsCalls = new LongAdder(), changeWordOrderCalls = new LongAdder(), tokenPairComparisons = new LongAdder(),
+            synonymLabelsEvaluated = new LongAdder(), unitChecks = new LongAdder(), prunedCandidates = new LongAdder(),
+            finishedAllocatedBytes = new LongAdder();
+    private int inputProperties, outputProperties;
+
+    /**
+     * Gets the bean that measures the allocated bytes of threads, if the JVM supports it.
+     *
+     * @return the bean or null
+     */
+    private static com.sun.management.ThreadMXBean getThreadBean(){
+        if(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean){
+            com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+            if(threadBean.isThreadAllocatedMemorySupported()){
+                threadBean.setThreadAllocatedMemoryEnabled(true);
+                return threadBean;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the bytes the current thread allocated until now (0, if they can not be measured)
+     */
+    private static long getAllocatedBytes(){
+        return threadBean == null ? 0 : threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * @return the diagnostics of the request the current thread matches for (null, if there are none)
+     */
+    static MatchingDiagnostics current(){
+        return current.get();
+    }
+
+    /**
+     * Makes "diagnostics" the current ones of this thread, until "end" is called.
+     *
+     * @param diagnostics contains the diagnostics of the request (null for none)
+     */
+    static void begin(MatchingDiagnostics diagnostics){
+        current.set(diagnostics);
+
+        if(diagnostics != null){
+            diagnostics.startAllocatedBytes = getAllocatedBytes();
+        }
+    }
+
+    /**
+     * Ends the diagnostics of this thread and adds the bytes that the thread allocated since "begin".
+     */
+    static void end(){
+        MatchingDiagnostics diagnostics = current.get();
+
+        if(diagnostics != null){
+            diagnostics.finishedAllocatedBytes.add(getAllocatedBytes() - diagnostics.startAllocatedBytes);
+        }
+        current.remove();
+    }
+
+    /**
+     * Calls "calculation" in a thread of {@link MatchingAdmission} or "matchingPool" with "diagnostics" as current ones
+     * and adds the bytes that the thread allocated meanwhile.
+     *
+     * @param diagnostics contains the diagnostics of the request (null for none)
+     * @param calculation contains the matching of a part of the request
+     * @return the result of "calculation"
+     */
+    static <T> T callWith(MatchingDiagnostics diagnostics, Supplier<T> calculation){
+        if(diagnostics == null){
+            return calculation.get();
+        }
+
+        MatchingDiagnostics before = current.get();
+        long startAllocatedBytes = getAllocatedBytes();
+        current.set(diagnostics);
+        try {
+            return calculation.get();
+        }
+        finally {
+            diagnostics.finishedAllocatedBytes.add(getAllocatedBytes() - startAllocatedBytes);
+            current.set(before);
+        }
+    }
+
+    /**
+     * Adds the time of a stage.
+     *
+     * @param stage contains the name of the stage (see "stages")
+     * @param nanos contains the time in nanoseconds
+     */
+    void addStageTime(String stage, long nanos){
+        stageNanos.computeIfAbsent(stage, name -> new LongAdder()).add(nanos);
+    }
+
+    void setPropertyCounts(int inputProperties, int outputProperties){
+        this.inputProperties = inputProperties;
+        this.outputProperties = outputProperties;
+    }
+
+    /**
+     * Creates the json of the diagnostics until now (must be called by a thread between "begin" and "end").
+     * Times are in milliseconds.
+     *
+     * @return the diagnostics in json format
+     */
+    JsonObject toJson(){
+        JsonObject diagnostics = new JsonObject();
+        diagnostics.addProperty("wallTimeMillis", (System.nanoTime() - startTime) / 1e6);
+
+        JsonObject stageMillis = new JsonObject();
+        for(String stage : stages){
+            LongAdder nanos = stageNanos.get(stage);
+            stageMillis.addProperty(stage, nanos == null ? 0.0 : nanos.sum() / 1e6);
+        }
+        diagnostics.add("stageMillis", stageMillis);
+
+        diagnostics.addProperty("inputProperties", inputProperties);
+        diagnostics.addProperty("outputProperties", outputProperties);
+        diagnostics.addProperty("compareStringsCalls", compareStringsCalls.sum());
+        diagnostics.addProperty("changeWordOrderCalls", changeWordOrderCalls.sum());
+        diagnostics.addProperty("tokenPairComparisons", tokenPairComparisons.sum());
+        diagnostics.addProperty("synonymLabelsEvaluated", synonymLabelsEvaluated.sum());
+        diagnostics.addProperty("unitChecks", unitChecks.sum());
+        diagnostics.addProperty("prunedCandidates", prunedCandidates.sum());
+        diagnostics.addProperty("allocatedBytes", threadBean == null ? -1 : getAllocatedBytes() - startAllocatedBytes + finishedAllocatedBytes.sum());
+
+        return diagnostics;
+    }
+}
@@ -0,0 +1,98 @@
+package com.matching.MatchingAPI.Matching;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer meters of the matching pipeline, registered in the global registry of Micrometer.
+ * Spring Boot Actuator adds its registry to the global one, so that the meters are exposed at "/actuator/prometheus".
+ *
+ * "matching.stage" has one timer for every stage of the pipeline (tag "stage"), with a histogram for the percentiles:
+ * - conversion: reading the request and converting both objects to {@link MatchingProperty}
+ * - synonymLookup: searching the synonym labels of the input properties
+ * - unitBlocks: partitioning the input properties by the blocks of their units
+ * - compareStrings: comparing one name of an input property with the name of an output property
+ *   (only one of "compareStringsSampling" comparisons is timed, a cached comparison is not much slower than timing it)
+ * - heapSelection: taking the matching suggestions of every compositional method out of the heaps
+ * - output: writing the matching suggestions as json
+ */
+public class MatchingMetrics {
+    final static String stageTimer = "matching.stage", stageTag = "stage";
+    final static int compareStringsSampling = 64;
+
+    final static Timer conversion = stage("conversion"), synonymLookup = stage("synonymLookup"), unitBlocks = stage("unitBlocks"),
+            compareStrings = stage("compareStrings"), heapSelection = stage("heapSelection"), output = stage("output");
+
+    final static DistributionSummary inputProperties = properties("input"), outputProperties = properties("output");
+
+    final static Counter comparedPairs = Counter.builder("matching.pairs").tag("result", "compared")
+            .description("pairs of input and output properties whose names were compared").register(Metrics.globalRegistry);
+    final static Counter prunedPairs = Counter.builder("matching.pairs").tag("result", "pruned")
+            .description("pairs of input and output properties skipped by their similarity upper bounds").register(Metrics.globalRegistry);
+    final static Counter rejectedByUnitPairs = Counter.builder("matching.pairs").tag("result", "rejectedByUnit")
+            .description("pairs of input and output properties not compared, because their units are not similar").register(Metrics.globalRegistry);
+
+    final static Counter admittedRequests = Counter.builder("matching.requests").tag("result", "admitted")
+            .description("\"/json\" requests admitted to the matching executor").register(Metrics.globalRegistry);
+    final static Counter rejectedRequests = Counter.builder("matching.requests").tag("result", "rejected")
+            .description("\"/json\" requests answered with 429, because the matching executor was saturated").register(Metrics.globalRegistry);
+
+    final static Timer matchedPairsPersistence = Timer.builder("matching.matchedPairs.persistence")
+            .description("saving the correct matched pairs of \"/matchingWords\" until they are on the disk")
+            .publishPercentileHistogram().register(Metrics.globalRegistry);
+
+    /**
+     * Creates the timer of a stage of the matching pipeline.
+     * The histogram starts at one microsecond, because a single "compareStrings" is much faster than the default of one millisecond.
+     *
+     * @param stage contains the name of the stage
+     * @return the timer
+     */
+    private static Timer stage(String stage){
+        return Timer.builder(stageTimer).tag(stageTag, stage).description("duration of a stage of the matching pipeline")
+                .publishPercentileHistogram().minimumExpectedValue(Duration.ofNanos(1000)).maximumExpectedValue(Duration.ofSeconds(30))
+                .register(Metrics.globalRegistry);
+    }
+
+    /**
+     * Creates the summary of the number of properties of the input or output objects.
+     *
+     * @param object contains "input" or "output"
+     * @return the summary
+     */
+    private static DistributionSummary properties(String object){
+        return DistributionSummary.builder("matching.request.properties").tag("object", object).description("number of properties of an object to match")
+                .publishPercentileHistogram().maximumExpectedValue(1e6).register(Metrics.globalRegistry);
+    }
+
+    /**
+     * Decides randomly, if the next comparison is timed.
+     *
+     * @return true for one of "compareStringsSampling" calls
+     */
+    static boolean sampleCompareStrings(){
+        return ThreadLocalRandom.current().nextInt(compareStringsSampling) == 0;
+    }
+
+    /**
+     * Records the time since "startTime" in "timer" and adds it to the {@link MatchingDiagnostics} of the request (if there are any).
+     *
+     * @param timer receives the time
+     * @param startTime contains the result of "System.nanoTime()" at the start
+     */
+    static void recordSince(Timer timer, long startTime){
+        long nanos = System.nanoTime() - startTime;
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+
+        MatchingDiagnostics diagnostics = MatchingDiagnostics.current();
+        if(diagnostics != null){
+            diagnostics.addStageTime(timer.getId().getTag(stageTag), nanos);
+        }
+    }
+}
@@ -2,26 +2,36 @@ package com.matching.MatchingAPI.Matching;
 
 import com.google.gson.*;
 import com.matching.MatchingAPI.ComparableEntry;
+import com.matching.MatchingAPI.Entry;
 import com.matching.MatchingAPI.DataConversion.DataConverter;
-import com.matching.MatchingAPI.Ontology.OntologyProcessingService;
-import com.matching.MatchingAPI.Ontology.OntologyUnit;
+import com.matching.MatchingAPI.DataConversion.RequestReader;
+import com.matching.MatchingAPI.Ontology.OntologyFileWatcher;
+import com.matching.MatchingAPI.Ontology.OntologyIndex;
+import com.matching.MatchingAPI.Ontology.UnitDimensionResolver;
 import com.matching.MatchingAPI.Settings;
-import org.apache.jena.ontology.OntModel;
-import org.apache.jena.rdf.model.ModelFactory;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
 import java.util.*;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * Does the matching for the objects (convert to internal format, calculate matching, output matching suggestions)
  */
 @Component
 public class MatchingService {
-    final static int firstElement = 0, classNameIndex = 0;
     final static String noSimilarity = "noSimilarity";
 
     //the maximum number of matching suggestion for every property of an object
@@ -29,112 +39,345 @@ public class MatchingService {
     //contains the minimum value that a matching needs to be good
     final static double minSimilarityValue = Settings.getInstance().getMinSimilarityValue();
 
-    static List<List<String>> synonymClassesWithLabels;
-    static List<OntologyUnit> listOfUnits;
-    static ReentrantLock initializationLock = new ReentrantLock();
+    //index of both ontologies, replaced as a whole by a reload (null, until the ontologies are loaded the first time)
+    final static AtomicReference<OntologyIndex> ontologyIndex = new AtomicReference<>();
+    //reloads the ontologies in the background, a reload that is requested while another one waits is left out
+    final static ExecutorService ontologyReloadExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ontology-reload");
+        thread.setDaemon(true);
+        return thread;
+    });
+    final static AtomicBoolean ontologyReloadWaiting = new AtomicBoolean();
+    //builds the index of the ontologies in the settings
+    static Supplier<OntologyIndex> ontologyLoader = () -> OntologyIndex.load(Settings.getInstance().getSynonymsOntology(),
+            Settings.getInstance().getUnitOntology(), Settings.getInstance().getOntologySnapshot());
+    final static LongAdder ontologyLoads = new LongAdder(), failedOntologyLoads = new LongAdder();
+    //pool to match the output properties in parallel (null, if they are matched one after another)
+    static ForkJoinPool matchingPool = createMatchingPool(Settings.getInstance().getMatchingParallelism());
+    //executor of the "/json" requests, rejects requests when it is saturated
+    final static MatchingAdmission matchingAdmission = new MatchingAdmission(Settings.getInstance().getMatchingRequestThreads(),
+            Settings.getInstance().getMatchingRequestQueue(), Settings.getInstance().getMaxPendingComparisons());
+
+    //skip candidates, whose similarity upper bounds can not reach the matching suggestions
+    static boolean candidatePruning = Settings.getInstance().isCandidatePruning();
+    //maximum number of input properties compared with an output property, selected by common trigrams (0 = all)
+    static int candidateLimit = Settings.getInstance().getCandidateLimit();
+    final static LongAdder scoredCandidates = new LongAdder(), prunedCandidates = new LongAdder(), skippedLabels = new LongAdder();
+
+    //correct matched pairs of every output api (snapshot and append-only log in "./matchedWordsAPIs/")
+    final static MatchedPairsStore matchedPairsStore = new MatchedPairsStore(Paths.get("./matchedWordsAPIs/"), Settings.getInstance().getMatchedPairsCompactionThreshold());
+    //suggest only the confirmed input properties (with value 1.0) for an output property, if the input object contains any of them
+    static boolean confirmedPairs = Settings.getInstance().isConfirmedPairs();
+    final static LongAdder confirmedOutProperties = new LongAdder();
+
+    /**
+     * Creates a ForkJoinPool with "parallelism" threads only for matching (so that matching does not block the common pool).
+     *
+     * @param parallelism number of threads (0 = number of processors, 1 = no pool)
+     * @return the pool or null, if the output properties are matched one after another
+     */
+    private static ForkJoinPool createMatchingPool(int parallelism){
+        if(parallelism == 0){
+            parallelism = Runtime.getRuntime().availableProcessors();
+        }
+
+        if(parallelism <= 1){
+            return null;
+        }
+        return new ForkJoinPool(parallelism);
+    }
 
     @EventListener(ApplicationReadyEvent.class)
     public void initializeOnStart(){
-        initializationLock.lock();
+        loadOntologyIndex();
+
         try {
-            OntModel synonyms = ModelFactory.createOntologyModel();
-            synonyms.read(Settings.getInstance().getSynonymsOntology());
-            synonymClassesWithLabels = OntologyProcessingService.getListOfClassesWithLabels(synonyms);
+            matchedPairsStore.loadAllApis();
 
-            OntModel units = ModelFactory.createOntologyModel();
-            units.read(Settings.getInstance().getUnitOntology());
-            listOfUnits = OntologyProcessingService.getListOfOntologyUnits(units);
+            if(Settings.getInstance().isOntologyWatch()){
+                new OntologyFileWatcher(Arrays.asList(Settings.getInstance().getSynonymsOntology(), Settings.getInstance().getUnitOntology()),
+                        MatchingService::reloadOntologies).start();
+            }
         }
-        finally {
-            initializationLock.unlock();
+        catch (IOException e) {
+            e.printStackTrace();
         }
     }
 
     /**
-     * Calculate for every input property and its synonym names the similarity values with every output property and saves the highest in "maxSimilarityValue".
-     * If there are no synonyms, only calculation with input property.
-     * Saves in "minHeaps" for the different compositional methods, the input property name with highest similarity to a output property.
-     * But "suggestionSize" says how many entries only get saved in every "minHeaps" and only the properties with the highest values.
+     * Builds the {@link OntologyIndex} of the ontologies in the settings with "ontologyLoader" and replaces "ontologyIndex" with it.
+     * Prepares the synonym labels of the new index for comparisons before (see {@link PreparedPropertyRegistry}).
+     * If the ontologies can not be loaded, the index before stays in use.
      *
-     * @param inObjectPropertyList contains all properties of "inObject" in internal format
-     * @param outProperty contains one property of "outObject" in internal format
-     * @param synonymClassesWithLabels contains the synonym names for all possible "inObject" properties
-     * @param listOfUnits contains all units from "om-2.0.rdf"
-     * @return "minHeaps"
+     * @return true, if the new index is used
      */
-    private static PriorityQueue<ComparableEntry<String, Double>>[] bestMatchingsForOutProperties(List<MatchingProperty> inObjectPropertyList, MatchingProperty outProperty,
-                                                                                                  List<List<String>> synonymClassesWithLabels, List<OntologyUnit> listOfUnits){
-        PriorityQueue<ComparableEntry<String, Double>> minHeaps[] = new PriorityQueue[CompSimEnum.values().length];
-        String text = "";
-        for (int i = 0; i < minHeaps.length; i++) {
-            minHeaps[i] = new PriorityQueue<>();
+    static boolean loadOntologyIndex(){
+        try {
+            OntologyIndex ontologies = ontologyLoader.get();
+            StringSimilarityService.preparedProperties.prepareLabels(ontologies.getSynonymLabelsByClassName());
+            ontologyIndex.set(ontologies);
+            ontologyLoads.increment();
+            return true;
+        }
+        catch (RuntimeException e) {
+            e.printStackTrace();
+            failedOntologyLoads.increment();
+            return false;
         }
+    }
 
-        for(MatchingProperty inProperty : inObjectPropertyList){
-            List<String> classWithInPropertyName = null;
+    /**
+     * Loads the ontologies again in "ontologyReloadExecutor" and replaces "ontologyIndex", when they are loaded.
+     * Requests that already got the index before finish their matching with it.
+     * If a reload is already waiting, it also takes the current ontologies and no other reload is started.
+     *
+     * @return true, if a new reload was started
+     */
+    public static boolean reloadOntologies(){
+        if(!ontologyReloadWaiting.compareAndSet(false, true)){
+            return false;
+        }
 
-            int dotAfterParentsIndex = inProperty.getName().lastIndexOf(".");
-            String propertyNameWithoutParents = inProperty.getName();
+        ontologyReloadExecutor.execute(() -> {
+            ontologyReloadWaiting.set(false);
+            loadOntologyIndex();
+        });
+        return true;
+    }
 
-            if(dotAfterParentsIndex != -1) {
-                propertyNameWithoutParents = propertyNameWithoutParents.substring(dotAfterParentsIndex+1);
-            }
+    /**
+     * Checks, if the ontologies are loaded, so that objects can be matched.
+     *
+     * @return true, if there is an "ontologyIndex"
+     */
+    public static boolean isReady(){
+        return ontologyIndex.get() != null;
+    }
+
+    /**
+     * Calculate for every input property and its synonym names the similarity values with the output property and saves the highest in "maxSimilarityValue".
+     * If there are no synonyms, only calculation with input property.
+     * Saves in "minHeaps" for the different compositional methods, the index of the input property with highest similarity to a output property.
+     * But "suggestionSize" says how many entries only get saved in every "minHeaps" and only the properties with the highest values.
+     * The labels of a synonym class are only compared until all similarity values are 1.0 (no higher value possible).
+     * With "candidatePruning", "canBePruned" checks first, if an input property can get into any of the full "minHeaps".
+     * Only the compositional methods of "methods" get a heap (the others stay null) and are calculated.
+     *
+     * @param inObjectPropertyList contains the properties of "inObject" in internal format, which units are similar to the unit of "outProperty"
+     * @param outProperty contains one property of "outObject" in internal format
+     * @param methods contains the compositional methods of the request
+     * @return "minHeaps" (the {@link TopKSelector} of the current thread)
+     */
+    private static TopKSelector[] bestMatchingsForOutProperties(List<InputProperty> inObjectPropertyList, MatchingProperty outProperty, CompSimSelection methods){
+        TopKSelector minHeaps[] = TopKSelector.forMethods(methods, suggestionSize);
+        PreparedProperty preparedOutProperty = StringSimilarityService.preparedProperties.get(outProperty.getName());
+
+        double[] upperBounds = new double[minHeaps.length], maxUpperBounds = new double[minHeaps.length];
+        //highest similarity values of the current input property, reused for every input property
+        double[] maxSimilarityValue = new double[minHeaps.length];
+        MatchingDiagnostics diagnostics = MatchingDiagnostics.current();
+
+        for (int inPropertyIndex = 0; inPropertyIndex < inObjectPropertyList.size(); inPropertyIndex++) {
+            InputProperty inProperty = inObjectPropertyList.get(inPropertyIndex);
+            if(candidatePruning && canBePruned(inProperty, outProperty, minHeaps, upperBounds, maxUpperBounds)){
+                prunedCandidates.increment();
+                MatchingMetrics.prunedPairs.increment();
+                if(diagnostics != null){
+                    diagnostics.prunedCandidates.increment();
+                }
 
-            for(List<String> classWithLabel : synonymClassesWithLabels){
-                if(propertyNameWithoutParents.equals(classWithLabel.get(classNameIndex))){
-                    classWithInPropertyName = classWithLabel;
+                for (int i = 0; i < minHeaps.length; i++) {
+                    if(minHeaps[i] == null){
+                        continue;
+                    }
+                    //"weighted" is known without calculation, all other heaps get the same arrangement as with a too low value
+                    if(i == CompSimEnum.weighted.index){
+                        minHeaps[i].add(inPropertyIndex, 0.0);
+                    }
+                    else {
+                        minHeaps[i].add(TopKSelector.prunedCandidate, Double.NEGATIVE_INFINITY);
+                    }
                 }
+                continue;
             }
-
-            Double[] maxSimilarityValue = new Double[7];
-            Arrays.fill(maxSimilarityValue, 0.0);
-
-            if(classWithInPropertyName != null){
-                for(String label : classWithInPropertyName){
-                    Double[] similarityValue = StringSimilarityService.compareStrings(label, outProperty.getName());
+            scoredCandidates.increment();
+            MatchingMetrics.comparedPairs.increment();
+
+            if(inProperty.isSynonymClassFound()){
+                Arrays.fill(maxSimilarityValue, 0.0);
+                PreparedProperty[] labels = inProperty.getPreparedNames();
+
+                for (int labelIndex = 0; labelIndex < labels.length; labelIndex++) {
+                    Double[] similarityValue = compareStrings(labels[labelIndex], preparedOutProperty, methods);
+                    boolean perfectMatch = true;
+                    if(diagnostics != null){
+                        diagnostics.synonymLabelsEvaluated.increment();
+                    }
 
                     for (int i = 0; i < maxSimilarityValue.length; i++) {
+                        if(minHeaps[i] == null){
+                            continue;
+                        }
                         if(maxSimilarityValue[i] < similarityValue[i]){
                             maxSimilarityValue[i] = similarityValue[i];
                         }
+                        if(i != CompSimEnum.weighted.index && maxSimilarityValue[i] < 1.0){
+                            perfectMatch = false;
+                        }
+                    }
+
+                    if(perfectMatch){
+                        skippedLabels.add(labels.length - labelIndex - 1);
+                        break;
                     }
                 }
             }
             else {
-                maxSimilarityValue = StringSimilarityService.compareStrings(inProperty.getName(), outProperty.getName());
+                Double[] similarityValue = compareStrings(inProperty.getPreparedNames()[0], preparedOutProperty, methods);
+
+                for (int i = 0; i < maxSimilarityValue.length; i++) {
+                    if(minHeaps[i] != null){
+                        maxSimilarityValue[i] = similarityValue[i];
+                    }
+                }
             }
 
             for (int i = 0; i < minHeaps.length; i++) {
-                if(OntologyProcessingService.testUnitsForSimilarity(inProperty.getUnit(), outProperty.getUnit(), listOfUnits)){
-                    minHeaps[i].add(new ComparableEntry<String, Double>(inProperty.getName(), maxSimilarityValue[i]));
+                if(minHeaps[i] == null){
+                    continue;
                 }
+                minHeaps[i].add(inPropertyIndex, maxSimilarityValue[i]);
+            }
+        }
+
+        return minHeaps;
+    }
+
+    /**
+     * Compares both prepared names with {@link StringSimilarityService#compareStrings(PreparedProperty, PreparedProperty, CompSimSelection)} and times some of the comparisons (see {@link MatchingMetrics}).
+     * With {@link MatchingDiagnostics} of the request, every comparison is counted and timed for them.
+     *
+     * @param inPropertyName contains the prepared name of an input property (or one of its synonym labels)
+     * @param outPropertyName contains the prepared name of an output property
+     * @param methods contains the compositional methods of the request
+     * @return the similarity values of every compositional method (at least of "methods")
+     */
+    private static Double[] compareStrings(PreparedProperty inPropertyName, PreparedProperty outPropertyName, CompSimSelection methods){
+        MatchingDiagnostics diagnostics = MatchingDiagnostics.current();
+        boolean sampled = MatchingMetrics.sampleCompareStrings();
+
+        if(!sampled && diagnostics == null){
+            return StringSimilarityService.compareStrings(inPropertyName, outPropertyName, methods);
+        }
+
+        long startTime = System.nanoTime();
+        Double[] similarityValue = StringSimilarityService.compareStrings(inPropertyName, outPropertyName, methods);
+        long nanos = System.nanoTime() - startTime;
 
-                if(minHeaps[i].size() > suggestionSize){
-                    minHeaps[i].remove();
+        if(sampled){
+            MatchingMetrics.compareStrings.record(nanos, TimeUnit.NANOSECONDS);
+        }
+        if(diagnostics != null){
+            diagnostics.compareStringsCalls.increment();
+            diagnostics.addStageTime(MatchingMetrics.compareStrings.getId().getTag(MatchingMetrics.stageTag), nanos);
+        }
+        return similarityValue;
+    }
+
+    /**
+     * Saves in "minHeaps" the input properties that were confirmed as correct matching for "outProperty" (see {@link MatchedPairsStore}),
+     * with the similarity value 1.0 for every compositional method and without calculating any similarity.
+     * But "suggestionSize" says how many entries only get saved in every "minHeaps".
+     *
+     * @param inObjectPropertyList contains the properties of "inObject" in internal format, which units are similar to the unit of "outProperty"
+     * @param outProperty contains one property of "outObject" in internal format
+     * @param methods contains the compositional methods of the request
+     * @return "minHeaps" (the {@link TopKSelector} of the current thread) or null, if no confirmed input property is in "inObjectPropertyList"
+     */
+    private static TopKSelector[] confirmedMatchingsForOutProperties(List<InputProperty> inObjectPropertyList, MatchingProperty outProperty, CompSimSelection methods){
+        if(!matchedPairsStore.hasConfirmedPairs(outProperty.getName())){
+            return null;
+        }
+
+        TopKSelector minHeaps[] = null;
+
+        for (int inPropertyIndex = 0; inPropertyIndex < inObjectPropertyList.size(); inPropertyIndex++) {
+            if(matchedPairsStore.isConfirmedPair(outProperty.getName(), inObjectPropertyList.get(inPropertyIndex).getProperty().getName())){
+                if(minHeaps == null){
+                    minHeaps = TopKSelector.forMethods(methods, suggestionSize);
+                }
+
+                for (int i = 0; i < minHeaps.length; i++) {
+                    if(minHeaps[i] != null){
+                        minHeaps[i].add(inPropertyIndex, 1.0);
+                    }
                 }
             }
         }
 
+        if(minHeaps != null){
+            confirmedOutProperties.increment();
+        }
         return minHeaps;
     }
 
+    /**
+     * Checks with the upper bounds of {@link SimilarityBounds}, that "inProperty" can not get into any of the "minHeaps",
+     * because they are full and the bound is lower than their lowest similarity value.
+     * If the input property has synonyms, the bound is the highest bound of all labels.
+     * ("weighted" is not checked, its value is always 0.0)
+     *
+     * @param inProperty contains one property of "inObject" with its synonym labels
+     * @param outProperty contains one property of "outObject" in internal format
+     * @param minHeaps contains the best matchings until now for every compositional method (null for the methods that are not calculated)
+     * @param upperBounds buffer for the upper bounds of one name
+     * @param maxUpperBounds buffer for the upper bounds of all names
+     * @return true, if the similarity values do not need to be calculated
+     */
+    private static boolean canBePruned(InputProperty inProperty, MatchingProperty outProperty, TopKSelector[] minHeaps, double[] upperBounds, double[] maxUpperBounds){
+        for (int i = 0; i < minHeaps.length; i++) {
+            if(minHeaps[i] != null && minHeaps[i].size() < suggestionSize){
+                return false;
+            }
+        }
+
+        Arrays.fill(maxUpperBounds, 0.0);
+
+        for(String name : inProperty.getComparisonNames()){
+            SimilarityBounds.calculateUpperBounds(name, outProperty.getName(), upperBounds);
+
+            for (int i = 0; i < minHeaps.length; i++) {
+                maxUpperBounds[i] = Math.max(maxUpperBounds[i], upperBounds[i]);
+            }
+        }
+
+        for (int i = 0; i < minHeaps.length; i++) {
+            if(minHeaps[i] != null && i != CompSimEnum.weighted.index && !(maxUpperBounds[i] < minHeaps[i].lowestValue())){
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Goes though "MinHeap" and saves input property name and the similarity value to an output property
      * in "similarityNames", if the corresponding value is minimum "minSimilarityValue".
      *
-     * @param minHeap contains the input property names with the highest corresponding similarity values to a output property (number is limited to suggestionSize)
+     * @param minHeap contains the input property indexes with the highest corresponding similarity values to a output property (number is limited to suggestionSize)
+     * @param inObjectPropertyList contains the input properties the indexes of "minHeap" refer to
      * @return if "similarityAvailable" is not empty, its "similarityNames" (matching suggestions and values), else its the string "noSimilarity" with similarity 0.0
      */
-    private static ComparableEntry<String, Double>[] calculateMatchSuggestionListEntry(PriorityQueue<ComparableEntry<String, Double>> minHeap){
+    private static ComparableEntry<String, Double>[] calculateMatchSuggestionListEntry(TopKSelector minHeap, List<InputProperty> inObjectPropertyList){
         ComparableEntry<String, Double>[] similarityNames = new ComparableEntry[suggestionSize];
         boolean similarityAvailable = false;
 
         for (int i = suggestionSize-1; !minHeap.isEmpty(); --i) {
-            if(minHeap.peek().getValue() >= minSimilarityValue){
-                similarityNames[i] = minHeap.peek();
+            if(minHeap.lowestValue() >= minSimilarityValue){
+                int index = minHeap.lowestIndex();
+                similarityNames[i] = new ComparableEntry<>(index == TopKSelector.prunedCandidate ? null : inObjectPropertyList.get(index).getProperty().getName(), minHeap.lowestValue());
                 similarityAvailable = true;
             }
-            minHeap.poll();
+            minHeap.removeLowest();
         }
 
         if(similarityAvailable){
@@ -148,88 +391,243 @@ public class MatchingService {
     }
 
     /**
-     * Calculate matching suggestions of "outObject" for "inObject".
+     * Searches for every input property the synonym class with the name of the property (without the names of its parents).
+     * Saves the property and the labels of the class (if found) as {@link InputProperty}.
      *
-     * Read in ontologies of the synonyms for the properties and of the units and process them into lists.
-     * Read in the "SuggestionSize" (number of max suggestions for every property) and "MinSimilarityValue" (the similarity value that is needed to be a good suggestion).
-     * Goes through every property of output object, calculate with "bestMatchingsForOutProperties" best matching properties of input object and saves them into "minHeaps".
-     * Than "calculateMatchSuggestionListEntry" calculates the best matching suggestions and saves them into "matchSuggestionList"
+     * @param inObjectPropertyList contains the properties of "inObject" in internal format
+     * @param synonymLabelsByClassName contains the synonym names for all possible "inObject" properties
+     * @return list of {@link InputProperty} in same order as "inObjectPropertyList"
+     */
+    private static List<InputProperty> findSynonymLabels(List<MatchingProperty> inObjectPropertyList, Map<String, String[]> synonymLabelsByClassName){
+        List<InputProperty> inputPropertyList = new ArrayList<>(inObjectPropertyList.size());
+
+        for(MatchingProperty inProperty : inObjectPropertyList){
+            inputPropertyList.add(new InputProperty(inProperty, getSynonymLabels(inProperty, synonymLabelsByClassName)));
+        }
+        return inputPropertyList;
+    }
+
+    /**
+     * Gets the labels of the synonym class with the name of the property (without the names of its parents).
      *
-     * @param inObjectPropertyList contains the properties of one object in internal format
-     * @param outObjectPropertyList contains the properties of the other object in internal format
-     * @return "matchSuggestionList" (lists of all properties of output object and the corresponding matching suggestions)
+     * @param inProperty contains a property of "inObject" in internal format
+     * @param synonymLabelsByClassName contains the synonym names for all possible "inObject" properties
+     * @return the labels or null, if there is no synonym class
      */
-    private static List<ComparableEntry<String, Double>[]>[] calculateMatchingSuggestions(List<MatchingProperty> inObjectPropertyList, List<MatchingProperty> outObjectPropertyList) {
-        initializationLock.lock();
-        initializationLock.unlock();
+    private static String[] getSynonymLabels(MatchingProperty inProperty, Map<String, String[]> synonymLabelsByClassName){
+        String propertyNameWithoutParents = inProperty.getName().substring(inProperty.getName().lastIndexOf(".") + 1);
 
-        List<ComparableEntry<String, Double>[]> matchSuggestionList[] = new ArrayList[CompSimEnum.values().length];
-        for (int i = 0; i < matchSuggestionList.length; i++) {
-            matchSuggestionList[i] = new ArrayList<>();
+        return synonymLabelsByClassName.get(propertyNameWithoutParents);
+    }
+
+    /**
+     * Estimates the cost of matching both objects, for {@link MatchingAdmission}:
+     * the number of names of the input properties (their synonym labels or only their name) times the number of output properties.
+     *
+     * @param inObjectPropertyList contains the properties of the input object in internal format
+     * @param outPropertyCount contains the number of properties of the output object
+     * @return the number of name comparisons without pruning and caching
+     */
+    static long estimateComparisons(List<MatchingProperty> inObjectPropertyList, int outPropertyCount){
+        OntologyIndex ontologies = ontologyIndex.get();
+        long names = 0;
+
+        for(MatchingProperty inProperty : inObjectPropertyList){
+            String[] labels = ontologies == null ? null : getSynonymLabels(inProperty, ontologies.getSynonymLabelsByClassName());
+            names += labels == null ? 1 : labels.length;
         }
+        return names * outPropertyCount;
+    }
 
-        for(MatchingProperty outProperty : outObjectPropertyList){
-            PriorityQueue<ComparableEntry<String, Double>>[] minHeaps = bestMatchingsForOutProperties(inObjectPropertyList, outProperty, synonymClassesWithLabels, listOfUnits);
+    /**
+     * Partitions the properties into blocks of properties with similar units (see {@link UnitDimensionResolver#getUnitBlock(String)}).
+     * Keeps the order of the properties inside every block.
+     *
+     * @param propertyList contains the properties of the input object
+     * @param unitDimensionResolver resolves the units from "om-2.0.rdf" to their dimension
+     * @return the properties of every block
+     */
+    private static Map<Object, List<InputProperty>> partitionByUnitBlock(List<InputProperty> propertyList, UnitDimensionResolver unitDimensionResolver){
+        Map<Object, List<InputProperty>> propertiesByUnitBlock = new HashMap<>();
+        MatchingDiagnostics diagnostics = MatchingDiagnostics.current();
+        if(diagnostics != null){
+            diagnostics.unitChecks.add(propertyList.size());
+        }
 
-            for (int i = 0; i < matchSuggestionList.length; i++) {
-                matchSuggestionList[i].add(calculateMatchSuggestionListEntry(minHeaps[i]));
-            }
+        for(InputProperty property : propertyList){
+            propertiesByUnitBlock.computeIfAbsent(unitDimensionResolver.getUnitBlock(property.getProperty().getUnit()), unitBlock -> new ArrayList<>()).add(property);
         }
+        return propertiesByUnitBlock;
+    }
 
-        return matchSuggestionList;
+    /**
+     * Builds a {@link CandidateIndex} for every block with more input properties than "candidateLimit"
+     * (smaller blocks are compared completely).
+     *
+     * @param inPropertiesByUnitBlock contains the properties of input object partitioned by their units
+     * @return the index of every larger block
+     */
+    private static Map<Object, CandidateIndex> buildCandidateIndexes(Map<Object, List<InputProperty>> inPropertiesByUnitBlock){
+        Map<Object, CandidateIndex> candidateIndexByUnitBlock = new HashMap<>();
+
+        for(Map.Entry<Object, List<InputProperty>> unitBlock : inPropertiesByUnitBlock.entrySet()){
+            if(unitBlock.getValue().size() > candidateLimit){
+                candidateIndexByUnitBlock.put(unitBlock.getKey(), new CandidateIndex(unitBlock.getValue()));
+            }
+        }
+        return candidateIndexByUnitBlock;
     }
 
     /**
-     * Saves all not empty matching suggestions to an array.
+     * Calculates with "bestMatchingsForOutProperties" the best matching properties of input object with similar unit for "outProperty".
+     * (the input properties with other units are counted as rejected by unit)
+     * Than "calculateMatchSuggestionListEntry" calculates the best matching suggestions for every compositional method.
+     *
+     * If there is a "candidateIndexByUnitBlock", only the candidates with most common trigrams are compared.
+     * With "confirmedPairs", the confirmed input properties of "outProperty" are suggested without comparing, if there are any with similar unit.
      *
-     * @param suggestions matching suggestions for a property of output object
-     * @return "suggestionArray"
+     * @param inputObject contains the prepared input object, with the {@link UnitDimensionResolver} that partitioned it
+     * @param outProperty contains one property of "outObject" in internal format
+     * @param methods contains the compositional methods of the request
+     * @return the matching suggestions of "outProperty" for every compositional method (null for the methods that are not in "methods")
      */
-    private static JsonArray getNonEmptySuggestions(ComparableEntry<String, Double>[] suggestions) {
-        JsonArray suggestionArray = new JsonArray();
+    private static ComparableEntry<String, Double>[][] calculateMatchSuggestions(InputObject inputObject, MatchingProperty outProperty, CompSimSelection methods){
+        Map<Object, CandidateIndex> candidateIndexByUnitBlock = inputObject.getCandidateIndexByUnitBlock();
+        Object unitBlock = inputObject.getUnitDimensionResolver().getUnitBlock(outProperty.getUnit());
+        List<InputProperty> similarUnitInProperties = inputObject.getInPropertiesByUnitBlock().getOrDefault(unitBlock, Collections.emptyList());
+        MatchingMetrics.rejectedByUnitPairs.increment(inputObject.getPropertyCount() - similarUnitInProperties.size());
+        MatchingDiagnostics diagnostics = MatchingDiagnostics.current();
+        if(diagnostics != null){
+            diagnostics.unitChecks.increment();
+        }
+        TopKSelector[] minHeaps = confirmedPairs ? confirmedMatchingsForOutProperties(similarUnitInProperties, outProperty, methods) : null;
 
-        for (ComparableEntry<String, Double> suggestion : suggestions){
-            if(suggestion != null){
-                if(suggestion.getKey().equals("noSimilarity")){
-                    suggestionArray.add(suggestion.getKey());
-                }
-                else {
-                    suggestionArray.add(suggestion.getKey() + "|" + suggestion.getValue());
-                }
+        if(minHeaps == null){
+            if(candidateIndexByUnitBlock != null && candidateIndexByUnitBlock.containsKey(unitBlock)){
+                similarUnitInProperties = candidateIndexByUnitBlock.get(unitBlock).selectCandidates(outProperty.getName(), candidateLimit);
+            }
+            minHeaps = bestMatchingsForOutProperties(similarUnitInProperties, outProperty, methods);
+        }
+        ComparableEntry<String, Double>[][] matchSuggestions = new ComparableEntry[minHeaps.length][];
+        long startTime = System.nanoTime();
+
+        for (int i = 0; i < minHeaps.length; i++) {
+            if(minHeaps[i] != null){
+                matchSuggestions[i] = calculateMatchSuggestionListEntry(minHeaps[i], similarUnitInProperties);
             }
         }
-        return suggestionArray;
+        MatchingMetrics.recordSince(MatchingMetrics.heapSelection, startTime);
+        return matchSuggestions;
     }
 
     /**
-     * Creates a json were every property of "outputObjectPropertyList" got saved with its matching suggestions from "matchingSuggestionList".
+     * Prepares the input object for matching with any number of output objects.
      *
-     * Goes through every property of the output object.
-     * Creates with "getNonEmptySuggestions" an array with all not empty matching suggestions for every output property.
-     * Adds to "matchingSuggestionJson" the every output property name with the "suggestionArray".
+     * Searches the synonym class of every property of input object one time.
+     * Partitions the properties of input object by their units, so that incompatible properties never get compared.
+     * With a "candidateLimit", builds a trigram index over every block of input properties.
+     * Takes the current "ontologyIndex" once, the input object is matched with it even if the ontologies are reloaded meanwhile.
      *
-     * @param outputObjectPropertyList list of properties of the output object
-     * @param matchingSuggestionList list of matching suggestions for every property of the output object
-     * @return "matchingSuggestionJson" as String
+     * @param inObjectPropertyList contains the properties of the input object in internal format
+     * @return the prepared {@link InputObject}
+     * @throws IllegalStateException if the ontologies are not loaded yet (see {@link #isReady()})
      */
-    private static JsonElement createOutput(List<MatchingProperty> outputObjectPropertyList, List<ComparableEntry<String, Double>[]> matchingSuggestionList){
-        JsonElement matchingSuggestionJson = new JsonObject();
-        JsonArray suggestionArray;
+    static InputObject prepareInputObject(List<MatchingProperty> inObjectPropertyList) {
+        OntologyIndex ontologies = ontologyIndex.get();
+        if(ontologies == null){
+            throw new IllegalStateException("The ontologies are not loaded yet");
+        }
 
-        for (int i = 0; i < outputObjectPropertyList.size(); i++) {
-            suggestionArray = getNonEmptySuggestions(matchingSuggestionList.get(i));
+        MatchingMetrics.inputProperties.record(inObjectPropertyList.size());
 
-            String outPropertyName = outputObjectPropertyList.get(i).getName();
+        long startTime = System.nanoTime();
+        List<InputProperty> inputPropertyList = findSynonymLabels(inObjectPropertyList, ontologies.getSynonymLabelsByClassName());
+        MatchingMetrics.recordSince(MatchingMetrics.synonymLookup, startTime);
+
+        startTime = System.nanoTime();
+        Map<Object, List<InputProperty>> inPropertiesByUnitBlock = partitionByUnitBlock(inputPropertyList, ontologies.getUnitDimensionResolver());
+        MatchingMetrics.recordSince(MatchingMetrics.unitBlocks, startTime);
+
+        Map<Object, CandidateIndex> candidateIndexByUnitBlock = candidateLimit > 0 ? buildCandidateIndexes(inPropertiesByUnitBlock) : null;
+
+        return new InputObject(inPropertiesByUnitBlock, candidateIndexByUnitBlock, ontologies.getUnitDimensionResolver(), inputPropertyList.size());
+    }
+
+    /**
+     * Calculate matching suggestions of "outObject" for "inObject".
+     *
+     * Read in ontologies of the synonyms for the properties and of the units and process them into lists.
+     * Read in the "SuggestionSize" (number of max suggestions for every property) and "MinSimilarityValue" (the similarity value that is needed to be a good suggestion).
+     * Prepares the input object with "prepareInputObject".
+     *
+     * @param inObjectPropertyList contains the properties of one object in internal format
+     * @param outObjectPropertyList contains the properties of the other object in internal format
+     * @return "matchSuggestionList" (lists of all properties of output object and the corresponding matching suggestions)
+     */
+    static List<ComparableEntry<String, Double>[]>[] calculateMatchingSuggestions(List<MatchingProperty> inObjectPropertyList, List<MatchingProperty> outObjectPropertyList) {
+        return calculateMatchingSuggestions(prepareInputObject(inObjectPropertyList), outObjectPropertyList, CompSimSelection.all);
+    }
 
-            if(suggestionArray.size() == 1){
-                matchingSuggestionJson.getAsJsonObject().add(outPropertyName, suggestionArray.get(firstElement));
+    /**
+     * Calculate matching suggestions of "outObject" for the prepared "inObject", for every compositional method.
+     *
+     * @param inputObject contains the prepared input object
+     * @param outObjectPropertyList contains the properties of the other object in internal format
+     * @return "matchSuggestionList" (lists of all properties of output object and the corresponding matching suggestions)
+     */
+    static List<ComparableEntry<String, Double>[]>[] calculateMatchingSuggestions(InputObject inputObject, List<MatchingProperty> outObjectPropertyList) {
+        return calculateMatchingSuggestions(inputObject, outObjectPropertyList, CompSimSelection.all);
+    }
+
+    /**
+     * Calculate matching suggestions of "outObject" for the prepared "inObject".
+     *
+     * Goes through every property of output object and calculates with "calculateMatchSuggestions" its best matching suggestions.
+     * If there is a "matchingPool", the output properties are split between its threads (with the {@link MatchingDiagnostics} of the request).
+     * Saves the matching suggestions in order of the output properties into "matchSuggestionList".
+     * Only the compositional methods of "methods" are calculated, the lists of the others are null.
+     *
+     * @param inputObject contains the prepared input object
+     * @param outObjectPropertyList contains the properties of the other object in internal format
+     * @param methods contains the compositional methods of the request
+     * @return "matchSuggestionList" (lists of all properties of output object and the corresponding matching suggestions)
+     */
+    static List<ComparableEntry<String, Double>[]>[] calculateMatchingSuggestions(InputObject inputObject, List<MatchingProperty> outObjectPropertyList, CompSimSelection methods) {
+        List<ComparableEntry<String, Double>[]> matchSuggestionList[] = new ArrayList[CompSimEnum.values().length];
+        for (int i = 0; i < matchSuggestionList.length; i++) {
+            if(methods.isSelected(i)){
+                matchSuggestionList[i] = new ArrayList<>();
             }
-            else {
-                matchingSuggestionJson.getAsJsonObject().add(outPropertyName, suggestionArray);
+        }
+
+        MatchingMetrics.outputProperties.record(outObjectPropertyList.size());
+
+        List<ComparableEntry<String, Double>[][]> outPropertySuggestions;
+
+        if(matchingPool != null && outObjectPropertyList.size() > 1){
+            MatchingDiagnostics diagnostics = MatchingDiagnostics.current();
+
+            outPropertySuggestions = matchingPool.submit(() -> outObjectPropertyList.parallelStream()
+                    .map(outProperty -> MatchingDiagnostics.callWith(diagnostics, () -> calculateMatchSuggestions(inputObject, outProperty, methods)))
+                    .collect(Collectors.toList())).join();
+        }
+        else {
+            outPropertySuggestions = new ArrayList<>(outObjectPropertyList.size());
+
+            for(MatchingProperty outProperty : outObjectPropertyList){
+                outPropertySuggestions.add(calculateMatchSuggestions(inputObject, outProperty, methods));
             }
+        }
 
+        for(ComparableEntry<String, Double>[][] matchSuggestions : outPropertySuggestions){
+            for (int i = 0; i < matchSuggestionList.length; i++) {
+                if(matchSuggestionList[i] != null){
+                    matchSuggestionList[i].add(matchSuggestions[i]);
+                }
+            }
         }
-        return matchingSuggestionJson;
+
+        return matchSuggestionList;
     }
 
     /**
@@ -241,137 +639,187 @@ public class MatchingService {
      * @return the json string from "createOutput"
      */
     public static String generateMatchingSuggestions(String jsonString, DataConverter inputDataConverter, DataConverter outputDataConverter) {
+        long startTime = System.nanoTime();
         List<MatchingProperty> inputObjectPropertyList = inputDataConverter.jsonToMatchingPropertyList(jsonString);
         List<MatchingProperty> outputObjectPropertyList = outputDataConverter.jsonToMatchingPropertyList(jsonString);
+        MatchingMetrics.recordSince(MatchingMetrics.conversion, startTime);
 
         return generateMatchingSuggestions(inputObjectPropertyList, outputObjectPropertyList);
     }
 
     /**
-     * Generates matching suggestions between the inputProperties and outputProperties.
-     * Processes matching suggestions from different compositional methods to output string.
+     * Reads the objects from the request stream "request" in one pass with {@link RequestReader}
+     * and converts them to internal format {@link MatchingProperty}.
+     * Is the first step of a "/json" request and runs in the thread of the web server, the matching ("matchObjects")
+     * and the output ("writeMatchingSuggestions") run later in other threads.
      *
-     * @param inputObjectPropertyList contains the input object in the internal format
-     * @param outputObjectPropertyList contains the output object in the internal format
-     * @return matching suggestions in json format
+     * @param request contains the objects that need to be matched
+     * @param inputDataConverter contains the converter to internal format for the input object
+     * @param outputDataConverter contains the converter to internal format for the output object
+     * @param diagnostics contains the diagnostics of the request (null for none)
+     * @return the properties of the input object and of the output object
+     * @throws IOException if the request can not be read
      */
-    public static String generateMatchingSuggestions(List<MatchingProperty> inputObjectPropertyList, List<MatchingProperty> outputObjectPropertyList) {
-        JsonElement allSuggestionsLists = new JsonObject();
-
-        List<ComparableEntry<String, Double>[]>[] matchingSuggestionList = calculateMatchingSuggestions(inputObjectPropertyList, outputObjectPropertyList);
+    public static Entry<List<MatchingProperty>, List<MatchingProperty>> readObjects(InputStream request, DataConverter inputDataConverter, DataConverter outputDataConverter,
+                                                                                    MatchingDiagnostics diagnostics) throws IOException {
+        MatchingDiagnostics.begin(diagnostics);
+        try {
+            long startTime = System.nanoTime();
+            Entry<List<MatchingProperty>, List<MatchingProperty>> objectPropertyLists = RequestReader.readMatchingPropertyLists(request, inputDataConverter, outputDataConverter);
+            MatchingMetrics.recordSince(MatchingMetrics.conversion, startTime);
 
-        for (int i = 0; i < matchingSuggestionList.length; i++) {
-            allSuggestionsLists.getAsJsonObject().add(CompSimEnum.values()[i].toString(), createOutput(outputObjectPropertyList, matchingSuggestionList[i]));
+            if(diagnostics != null){
+                diagnostics.setPropertyCounts(objectPropertyLists.getKey().size(), objectPropertyLists.getValue().size());
+            }
+            return objectPropertyLists;
+        }
+        finally {
+            MatchingDiagnostics.end();
         }
-
-        return allSuggestionsLists.toString();
     }
 
     /**
-     * Adds "inPropertyName" to the values of the output property with "outPropertyName" inside "updatedMatchingPairsJson".
+     * Calculates the matching suggestions of the objects of "readObjects" (in a thread of {@link MatchingAdmission}).
+     * Only the compositional methods of "methods" are calculated.
      *
-     * @param matchingPairsJson the converted file with correct matched pairs
-     * @param updatedMatchingPairsJson contains the updated data of "matchingPairsJson"
-     * @param outPropertyName contains the name of a output property
-     * @param inPropertyName contains the name of a input property
+     * @param objectPropertyLists contains the properties of the input object and of the output object
+     * @param methods contains the compositional methods of the request
+     * @param diagnostics contains the diagnostics of the request (null for none)
+     * @return "matchSuggestionList" (lists of all properties of output object and the corresponding matching suggestions)
      */
-    private static void updateMatchingPairsJson(JsonElement matchingPairsJson, JsonElement updatedMatchingPairsJson, String outPropertyName, JsonElement inPropertyName) {
-        for(Map.Entry<String, JsonElement> entry : matchingPairsJson.getAsJsonObject().entrySet()){
-            if(outPropertyName.equals(entry.getKey())){
-                JsonArray entryValues = (JsonArray) entry.getValue();
-                boolean valueAlreadyInside = false;
-
-                for (int j = 0; j < entryValues.size(); j++) {
-                    if(entryValues.get(j).toString().equals(inPropertyName.toString())){
-                        valueAlreadyInside = true;
-                        break;
-                    }
-                }
-
-                if(!valueAlreadyInside){
-                    entryValues.add(inPropertyName);
-                    updatedMatchingPairsJson.getAsJsonObject().remove(entry.getKey());
-                    updatedMatchingPairsJson.getAsJsonObject().add(entry.getKey(), entryValues);
-                }
-            }
-        }
+    public static List<ComparableEntry<String, Double>[]>[] matchObjects(Entry<List<MatchingProperty>, List<MatchingProperty>> objectPropertyLists, CompSimSelection methods,
+                                                                        MatchingDiagnostics diagnostics){
+        return MatchingDiagnostics.callWith(diagnostics, () -> calculateMatchingSuggestions(prepareInputObject(objectPropertyLists.getKey()), objectPropertyLists.getValue(), methods));
     }
 
     /**
-     * Converts file with "outputApiName" to "matchingPairsJson".
-     * Adds new matched pairs, if they are not already inside the "matchingPairsJson".
-     * Converts updated "matchingPairsJson" back to file.
+     * Writes the matching suggestions with {@link SuggestionWriter} directly to "response" (UTF-8) instead of returning them as string.
+     * With "diagnostics", the response additionally contains the {@link MatchingDiagnostics} of the request as "diagnostics"
+     * (time of every stage, work counters and allocated bytes).
      *
-     * @param gson need to convert a file into a JsonElement
-     * @param outputApiName contains the name of the output api
-     * @param newMatchingPairsArray contains the new correct matched pairs
+     * @param outputObjectPropertyList contains the properties of the output object
+     * @param matchingSuggestionList contains the matching suggestions of "matchObjects"
+     * @param diagnostics contains the diagnostics of the request (null for none)
+     * @param response receives the matching suggestions in json format
+     * @throws IOException if the response can not be written
      */
-    private static void addOrUpdateMatchingPairs(Gson gson, String outputApiName, JsonArray newMatchingPairsArray) {
+    public static void writeMatchingSuggestions(List<MatchingProperty> outputObjectPropertyList, List<ComparableEntry<String, Double>[]>[] matchingSuggestionList,
+                                                MatchingDiagnostics diagnostics, OutputStream response) throws IOException {
+        MatchingDiagnostics.begin(diagnostics);
         try {
-            FileReader fr = new FileReader("./matchedWordsAPIs/" + outputApiName);
-            BufferedReader br = new BufferedReader(fr);
-            String matchedPairsString = br.readLine();
-            JsonElement matchingPairsJson = gson.fromJson(matchedPairsString, JsonElement.class);
+            long outputStartTime = System.nanoTime();
+            Supplier<JsonElement> diagnosticsJson = null;
+            if(diagnostics != null){
+                diagnosticsJson = () -> {
+                    diagnostics.addStageTime(MatchingMetrics.output.getId().getTag(MatchingMetrics.stageTag), System.nanoTime() - outputStartTime);
+                    return diagnostics.toJson();
+                };
+            }
 
-            JsonElement updatedMatchingPairsJson = matchingPairsJson.deepCopy();
+            SuggestionWriter.writeAllOutputs(outputObjectPropertyList, matchingSuggestionList, diagnosticsJson, new BufferedWriter(new OutputStreamWriter(response, StandardCharsets.UTF_8)));
+            //the diagnostics were taken while writing, so the time of the output is already in them
+            MatchingMetrics.recordSince(MatchingMetrics.output, outputStartTime);
+        }
+        finally {
+            MatchingDiagnostics.end();
+        }
+    }
 
-            for (int i = 0; i < newMatchingPairsArray.size(); i++) {
-                    JsonObject pair = newMatchingPairsArray.get(i).getAsJsonObject();
-                    String outPropertyName = pair.get("outPropertyName").getAsString();
-                    JsonElement inPropertyName = pair.get("inPropertyName");
+    /**
+     * Generates matching suggestions between the inputProperties and outputProperties.
+     * Processes matching suggestions from different compositional methods to output string.
+     *
+     * @param inputObjectPropertyList contains the input object in the internal format
+     * @param outputObjectPropertyList contains the output object in the internal format
+     * @return matching suggestions in json format
+     */
+    public static String generateMatchingSuggestions(List<MatchingProperty> inputObjectPropertyList, List<MatchingProperty> outputObjectPropertyList) {
+        List<ComparableEntry<String, Double>[]>[] matchingSuggestionList = calculateMatchingSuggestions(inputObjectPropertyList, outputObjectPropertyList);
 
-                if(matchingPairsJson.getAsJsonObject().get(outPropertyName) != null){
-                    updateMatchingPairsJson(matchingPairsJson, updatedMatchingPairsJson, outPropertyName, inPropertyName);
-                }
-                else{
-                    JsonArray newMatchingWords = new JsonArray();
+        return createAllOutputs(outputObjectPropertyList, matchingSuggestionList);
+    }
 
-                    newMatchingWords.add(inPropertyName);
+    /**
+     * Writes with {@link SuggestionWriter} the json of every compositional method to a string, under the name of the method.
+     *
+     * @param outputObjectPropertyList list of properties of the output object
+     * @param matchingSuggestionList lists of matching suggestions for every compositional method
+     * @return matching suggestions of all compositional methods in json format
+     */
+    static String createAllOutputs(List<MatchingProperty> outputObjectPropertyList, List<ComparableEntry<String, Double>[]>[] matchingSuggestionList) {
+        StringWriter allSuggestionsLists = new StringWriter();
+        long startTime = System.nanoTime();
 
-                    updatedMatchingPairsJson.getAsJsonObject().add(outPropertyName, newMatchingWords);
-                }
-            }
+        try {
+            SuggestionWriter.writeAllOutputs(outputObjectPropertyList, matchingSuggestionList, allSuggestionsLists);
+        } catch (IOException e) {
+            //a "StringWriter" is never failing
+            throw new UncheckedIOException(e);
+        }
+        MatchingMetrics.recordSince(MatchingMetrics.output, startTime);
 
-            FileWriter matchingPairFileWriter = new FileWriter("./matchedWordsAPIs/" + outputApiName);
+        return allSuggestionsLists.toString();
+    }
 
-            matchingPairFileWriter.write(updatedMatchingPairsJson.toString());
-            matchingPairFileWriter.close();
-        }
-        catch (IOException e) {
-            e.printStackTrace();
-        }
+    /**
+     * Collects statistics of the matching, like hits and misses of the cache for similarity values,
+     * the number of scored and pruned input properties and the loads of the ontologies.
+     *
+     * @return the statistics in json format
+     */
+    public static String getStatistics(){
+        JsonObject statistics = new JsonObject();
+
+        statistics.add("similarityCache", StringSimilarityService.similarityCache.getStatistics());
+        statistics.add("preparedProperties", StringSimilarityService.preparedProperties.getStatistics());
+        statistics.add("admission", matchingAdmission.getStatistics());
+
+        JsonObject pruning = new JsonObject();
+        pruning.addProperty("enabled", candidatePruning);
+        pruning.addProperty("scoredCandidates", scoredCandidates.sum());
+        pruning.addProperty("prunedCandidates", prunedCandidates.sum());
+        pruning.addProperty("skippedLabels", skippedLabels.sum());
+        statistics.add("pruning", pruning);
+
+        JsonObject confirmed = new JsonObject();
+        confirmed.addProperty("enabled", confirmedPairs);
+        confirmed.addProperty("confirmedOutProperties", confirmedOutProperties.sum());
+        statistics.add("confirmedPairs", confirmed);
+
+        JsonObject ontologies = new JsonObject();
+        ontologies.addProperty("ready", isReady());
+        ontologies.addProperty("loads", ontologyLoads.sum());
+        ontologies.addProperty("failedLoads", failedOntologyLoads.sum());
+        ontologies.addProperty("reloadWaiting", ontologyReloadWaiting.get());
+        statistics.add("ontologies", ontologies);
+
+        return statistics.toString();
     }
 
     /**
      * Converts "jsonString" into array of the matched pairs.
-     * Creates file with the "outputApiName".
-     * Adds the matched pairs to the file with addAndUpdateMatchingPairs.
+     * Adds the matched pairs of the output api to "matchedPairsStore".
+     *
+     * The pairs are acknowledged only when they are on disk.
      *
      * @param jsonString contain the correct matched pairs
-     * @return
+     * @return confirmation that the pairs are saved
+     * @throws IOException if the pairs can not be saved
      */
-    public static String addCorrectMatchingPairs(String jsonString){
+    public static String addCorrectMatchingPairs(String jsonString) throws IOException {
         Gson gson = new Gson();
         JsonElement jsonElement = gson.fromJson(jsonString, JsonElement.class);
 
         String outputApiName = jsonElement.getAsJsonObject().keySet().iterator().next();
-        JsonArray newMatchingPairsArray = gson.fromJson(jsonElement.getAsJsonObject().get(outputApiName), JsonArray.class);
+        JsonArray newMatchingPairsArray = jsonElement.getAsJsonObject().get(outputApiName).getAsJsonArray();
 
-        File matchingPairFile = new File("./matchedWordsAPIs/" + outputApiName);
-
-        if(!matchingPairFile.isFile()){
-            try {
-                FileWriter matchingPairFileWriter = new FileWriter("./matchedWordsAPIs/" + outputApiName);
-
-                matchingPairFileWriter.write("{}");
-                matchingPairFileWriter.close();
-            }
-            catch (IOException e) {
-                e.printStackTrace();
-            }
+        long startTime = System.nanoTime();
+        try {
+            matchedPairsStore.addMatchingPairs(outputApiName, newMatchingPairsArray);
+        }
+        finally {
+            MatchingMetrics.recordSince(MatchingMetrics.matchedPairsPersistence, startTime);
         }
-
-        addOrUpdateMatchingPairs(gson, outputApiName, newMatchingPairsArray);
 
         return "angekommen";
     }
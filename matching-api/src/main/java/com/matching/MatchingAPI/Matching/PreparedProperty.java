@@ -0,0 +1,40 @@
+package com.matching.MatchingAPI.Matching;
+
+/**
+ * A property name prepared for comparisons: its single words (see {@link PropertyNameTokenizer}) and the {@link SimilarityKernel.Profile} of every word.
+ * Gets built once for every distinct name (see {@link PreparedPropertyRegistry}), so that a name compared with many other names
+ * is not tokenized again and the shingles and character masks of its words are not collected again for every word pair.
+ * Is never changed after it is built, so it can be shared between threads and requests.
+ */
+public class PreparedProperty {
+    private final String name;
+    private final String[] words;
+    private final SimilarityKernel.Profile[] wordProfiles;
+
+    /**
+     * Splits "name" into its words and builds their profiles.
+     *
+     * @param name contains a property name or a synonym label
+     */
+    PreparedProperty(String name){
+        this.name = name;
+        this.words = PropertyNameTokenizer.tokenize(name);
+        this.wordProfiles = new SimilarityKernel.Profile[words.length];
+
+        for (int i = 0; i < words.length; i++) {
+            wordProfiles[i] = SimilarityKernel.profile(words[i]);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String[] getWords() {
+        return words;
+    }
+
+    SimilarityKernel.Profile[] getWordProfiles() {
+        return wordProfiles;
+    }
+}
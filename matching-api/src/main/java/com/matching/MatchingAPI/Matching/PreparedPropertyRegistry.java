@@ -0,0 +1,81 @@
+package com.matching.MatchingAPI.Matching;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.google.gson.JsonObject;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Gives the {@link PreparedProperty} of a name, so that every distinct name is prepared only once.
+ * The synonym labels of the ontologies are prepared when the ontologies are loaded ("prepareLabels") and are kept until the next load.
+ * All other names (properties of the requests) are kept in a size bounded cache, which evicts with Window TinyLFU like the {@link SimilarityCache}.
+ */
+public class PreparedPropertyRegistry {
+    private final Cache<String, PreparedProperty> preparedProperties;
+    private volatile Map<String, PreparedProperty> preparedLabels = Collections.emptyMap();
+
+    /**
+     * @param maximumSize number of names of requests that are kept at most (0 = prepare them for every request)
+     */
+    public PreparedPropertyRegistry(long maximumSize){
+        preparedProperties = maximumSize > 0 ? Caffeine.newBuilder().maximumSize(maximumSize).recordStats().build() : null;
+    }
+
+    /**
+     * Gets the prepared name from the synonym labels or the cache, or prepares it.
+     *
+     * @param name contains a property name or a synonym label
+     * @return the prepared name
+     */
+    PreparedProperty get(String name){
+        PreparedProperty preparedLabel = preparedLabels.get(name);
+
+        if(preparedLabel != null){
+            return preparedLabel;
+        }
+        if(preparedProperties == null){
+            return new PreparedProperty(name);
+        }
+        return preparedProperties.get(name, PreparedProperty::new);
+    }
+
+    /**
+     * Prepares all synonym labels of the ontologies and replaces the labels prepared before.
+     *
+     * @param synonymLabelsByClassName contains the synonym labels of every class name (see {@link com.matching.MatchingAPI.Ontology.OntologyIndex})
+     */
+    void prepareLabels(Map<String, String[]> synonymLabelsByClassName){
+        Map<String, PreparedProperty> labels = new HashMap<>();
+
+        for(String[] synonymLabels : synonymLabelsByClassName.values()){
+            for(String label : synonymLabels){
+                labels.computeIfAbsent(label, PreparedProperty::new);
+            }
+        }
+        preparedLabels = labels;
+    }
+
+    /**
+     * Creates json with the number of prepared labels and size, hits and misses of the cache.
+     *
+     * @return the statistics
+     */
+    public JsonObject getStatistics(){
+        JsonObject statistics = new JsonObject();
+        statistics.addProperty("labels", preparedLabels.size());
+
+        if(preparedProperties != null){
+            CacheStats stats = preparedProperties.stats();
+
+            statistics.addProperty("size", preparedProperties.estimatedSize());
+            statistics.addProperty("hitCount", stats.hitCount());
+            statistics.addProperty("missCount", stats.missCount());
+            statistics.addProperty("hitRate", stats.hitRate());
+        }
+        return statistics;
+    }
+}
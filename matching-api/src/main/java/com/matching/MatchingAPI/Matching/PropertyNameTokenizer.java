@@ -0,0 +1,214 @@
+package com.matching.MatchingAPI.Matching;
+
+import java.util.Locale;
+
+/**
+ * Splits property names into their single words, without regular expressions.
+ *
+ * If a name contains special characters, it is split in front of every special character and the special characters and spaces are removed.
+ * Else if it contains big characters, it is split in front of every big character and the spaces are removed.
+ * Else it is split at every space.
+ * All words are made lower case and every word is only kept one time.
+ */
+public class PropertyNameTokenizer {
+    final static String specialCharacters = "`~!@#$%^&*()-_=+\\|[{]};:'\",<.>/?";
+    final static boolean[] isSpecialCharacter = new boolean[128];
+    final static ThreadLocal<char[]> wordBuffers = ThreadLocal.withInitial(() -> new char[64]);
+
+    static {
+        for (int i = 0; i < specialCharacters.length(); i++) {
+            isSpecialCharacter[specialCharacters.charAt(i)] = true;
+        }
+    }
+
+    private static boolean checkForSpecialCharacter(char character){
+        return character < isSpecialCharacter.length && isSpecialCharacter[character];
+    }
+
+    private static boolean checkForBigCharacter(char character){
+        return character >= 'A' && character <= 'Z';
+    }
+
+    /**
+     * Splits "string" into its single words (see class description).
+     * Goes one time through "string" to find out how it has to be split and how many words there are,
+     * and one time to write the words in lower case into a reused buffer, from which only the words are created.
+     *
+     * @param string a word, sentence,...
+     * @return the string as array of its single words (but every word only one times)
+     */
+    public static String[] tokenize(String string){
+        int length = string.length(), specialCharacterCount = 0, bigCharacterCount = 0, spaceCount = 0, spacesBeforeLastWord = 0;
+
+        for (int i = 0; i < length; i++) {
+            char character = string.charAt(i);
+
+            if(checkForSpecialCharacter(character)){
+                specialCharacterCount++;
+            }
+            else if(checkForBigCharacter(character)){
+                bigCharacterCount++;
+            }
+
+            if(character == ' '){
+                spaceCount++;
+            }
+            else {
+                spacesBeforeLastWord = spaceCount;
+            }
+        }
+
+        String[] words;
+        int wordCount;
+
+        if(specialCharacterCount > 0){
+            words = new String[specialCharacterCount + (checkForSpecialCharacter(string.charAt(0)) ? 0 : 1)];
+            wordCount = splitInFrontOfCharacters(string, words, true);
+        }
+        else if(bigCharacterCount > 0){
+            words = new String[bigCharacterCount + (checkForBigCharacter(string.charAt(0)) ? 0 : 1)];
+            wordCount = splitInFrontOfCharacters(string, words, false);
+        }
+        else {
+            //like String.split(" "): empty words at the end are left out
+            words = new String[spaceCount == length ? (length == 0 ? 1 : 0) : spacesBeforeLastWord + 1];
+            wordCount = splitAtSpaces(string, words);
+        }
+
+        wordCount = deleteDoubleWords(words, wordCount);
+
+        if(wordCount < words.length){
+            String[] uniqueWords = new String[wordCount];
+            System.arraycopy(words, 0, uniqueWords, 0, wordCount);
+            return uniqueWords;
+        }
+        return words;
+    }
+
+    /**
+     * Splits "string" in front of every special character (special characters are removed) or in front of every big character.
+     * Spaces are removed.
+     *
+     * @param string a word, sentence,...
+     * @param words array to write the words into (has exactly the size for all words)
+     * @param atSpecialCharacters true to split at special characters, false to split at big characters
+     * @return number of words written into "words"
+     */
+    private static int splitInFrontOfCharacters(String string, String[] words, boolean atSpecialCharacters){
+        char[] buffer = getWordBuffer(string.length());
+        int wordCount = 0, wordLength = 0;
+        boolean nonAsciiCharacters = false;
+
+        for (int i = 0; i < string.length(); i++) {
+            char character = string.charAt(i);
+            boolean splitCharacter = atSpecialCharacters ? checkForSpecialCharacter(character) : checkForBigCharacter(character);
+
+            if(splitCharacter && i > 0){
+                words[wordCount++] = createWord(buffer, wordLength, nonAsciiCharacters);
+                wordLength = 0;
+                nonAsciiCharacters = false;
+            }
+
+            if(character != ' ' && !(splitCharacter && atSpecialCharacters)){
+                nonAsciiCharacters |= character >= 128;
+                buffer[wordLength++] = toLowerCase(character);
+            }
+        }
+        words[wordCount++] = createWord(buffer, wordLength, nonAsciiCharacters);
+
+        return wordCount;
+    }
+
+    /**
+     * Splits "string" at every space, until "words" is full.
+     *
+     * @param string a word, sentence,... without special and big characters
+     * @param words array to write the words into (has exactly the size for all words)
+     * @return number of words written into "words"
+     */
+    private static int splitAtSpaces(String string, String[] words){
+        char[] buffer = getWordBuffer(string.length());
+        int wordCount = 0, wordLength = 0;
+        boolean nonAsciiCharacters = false;
+
+        for (int i = 0; i < string.length() && wordCount < words.length; i++) {
+            char character = string.charAt(i);
+
+            if(character == ' '){
+                words[wordCount++] = createWord(buffer, wordLength, nonAsciiCharacters);
+                wordLength = 0;
+                nonAsciiCharacters = false;
+            }
+            else {
+                nonAsciiCharacters |= character >= 128;
+                buffer[wordLength++] = toLowerCase(character);
+            }
+        }
+
+        if(wordCount < words.length){
+            words[wordCount++] = createWord(buffer, wordLength, nonAsciiCharacters);
+        }
+
+        return wordCount;
+    }
+
+    private static char toLowerCase(char character){
+        return checkForBigCharacter(character) ? (char) (character + ('a' - 'A')) : character;
+    }
+
+    /**
+     * Creates a word from the first "wordLength" characters of "buffer".
+     * Only ASCII characters are already lower case in "buffer", so words with other characters are made lower case afterwards.
+     *
+     * @param buffer contains the characters of the word
+     * @param wordLength number of characters of the word
+     * @param nonAsciiCharacters if the word contains characters that are not ASCII
+     * @return the word in lower case
+     */
+    private static String createWord(char[] buffer, int wordLength, boolean nonAsciiCharacters){
+        if(wordLength == 0){
+            return "";
+        }
+
+        String word = new String(buffer, 0, wordLength);
+
+        if(nonAsciiCharacters){
+            return word.toLowerCase(Locale.ROOT);
+        }
+        return word;
+    }
+
+    private static char[] getWordBuffer(int length){
+        char[] buffer = wordBuffers.get();
+
+        if(buffer.length < length){
+            buffer = new char[Math.max(length, 2 * buffer.length)];
+            wordBuffers.set(buffer);
+        }
+        return buffer;
+    }
+
+    /**
+     * If in "words" is the same string two times or more, the duplicate strings are deleted.
+     * Works in place and deletes exactly the same words as the former "StringSimilarityService.deleteDoubleWords"
+     * (the word after a deleted word is not compared again in the same round).
+     *
+     * @param words contains the single words of a string
+     * @param wordCount number of words in "words"
+     * @return number of words left at the beginning of "words"
+     */
+    private static int deleteDoubleWords(String[] words, int wordCount){
+        for (int i = 0; i < wordCount; i++) {
+            String word = words[i];
+
+            for (int j = 0; j < wordCount; j++) {
+                if(i != j && words[j].equals(word)){
+                    System.arraycopy(words, j + 1, words, j, wordCount - j - 1);
+                    wordCount--;
+                }
+            }
+        }
+
+        return wordCount;
+    }
+}
@@ -0,0 +1,230 @@
+package com.matching.MatchingAPI.Matching;
+
+import java.util.Arrays;
+
+/**
+ * Calculates cheap upper bounds of the similarity values of "StringSimilarityService.compareStrings",
+ * without ordering the words and without the full similarity algorithms.
+ *
+ * The bounds only use the lengths and the characters of both names, which are the same for every word order:
+ * - "Normalized Levenshtein": only equal characters can be kept, so at most commonCharacters / maxLength
+ * - "Jaro Winkler": at most commonCharacters matches and no transposition, with the longest possible prefix
+ * - "Jaccard": shingles inside a word are the same for every word order, only shingles over word borders change,
+ *   so at most (common inner shingles + border shingles) / all different inner shingles,
+ *   and 0, if there are less than 3 common characters
+ * If a value could be NaN (both names shorter than a shingle) or the words can not be ordered
+ * without changing the characters (equal words, whitespace), the bound is NaN, that is higher than every value.
+ */
+class SimilarityBounds {
+    //small safety margin against rounding differences of the bounds (Jaro Winkler is calculated in float)
+    final static double roundingMargin = 1e-6;
+
+    private final static ThreadLocal<char[][]> characterBuffers = ThreadLocal.withInitial(() -> new char[][]{new char[64], new char[64]});
+    private final static ThreadLocal<long[][]> shingleBuffers = ThreadLocal.withInitial(() -> new long[][]{new long[64], new long[64]});
+
+    /**
+     * Calculates the upper bounds of the similarity values of both names
+     * at the indices of "CompSimEnum" ("weighted" is always 0).
+     *
+     * @param first contains a name
+     * @param second contains another name
+     * @param bounds receives the upper bounds (length of "CompSimEnum")
+     */
+    static void calculateUpperBounds(String first, String second, double[] bounds){
+        String[] firstWords = PropertyNameTokenizer.tokenize(first);
+        String[] secondWords = PropertyNameTokenizer.tokenize(second);
+
+        bounds[CompSimEnum.weighted.index] = 0.0;
+
+        char[][] buffers = characterBuffers.get();
+        int firstLength = collectSortedCharacters(firstWords, buffers, 0);
+        int secondLength = collectSortedCharacters(secondWords, buffers, 1);
+
+        if(firstLength < 0 || secondLength < 0 || (firstLength < SimilarityKernel.shingleLength && secondLength < SimilarityKernel.shingleLength)){
+            Arrays.fill(bounds, 0, CompSimEnum.weighted.index, Double.NaN);
+            return;
+        }
+
+        int commonCharacters = countCommonCharacters(buffers[0], firstLength, buffers[1], secondLength);
+        int maxLength = Math.max(firstLength, secondLength);
+        int minLength = Math.min(firstLength, secondLength);
+
+        double normLevenshtein = maxLength == 0 ? 1.0 : (double) commonCharacters / maxLength;
+        double jaccard = commonCharacters < SimilarityKernel.shingleLength ? 0.0 : jaccardUpperBound(firstWords, firstLength, secondWords, secondLength);
+        double jaroWinkler = 0.0;
+
+        if(commonCharacters > 0){
+            double jaro = ((double) commonCharacters / firstLength + (double) commonCharacters / secondLength + 1) / 3;
+            jaroWinkler = jaro;
+
+            if(jaro > SimilarityKernel.jaroWinklerThreshold){
+                jaroWinkler = jaro + Math.min(SimilarityKernel.jaroWinklerPrefixScale, 1.0 / maxLength) * minLength * (1 - jaro);
+            }
+        }
+
+        bounds[CompSimEnum.jaroWinkler.index] = jaroWinkler + roundingMargin;
+        bounds[CompSimEnum.jaccard.index] = jaccard + roundingMargin;
+        bounds[CompSimEnum.normLevenshtein.index] = normLevenshtein + roundingMargin;
+        bounds[CompSimEnum.min.index] = Math.min(Math.min(jaroWinkler, jaccard), normLevenshtein) + roundingMargin;
+        bounds[CompSimEnum.max.index] = Math.max(Math.max(jaroWinkler, jaccard), normLevenshtein) + roundingMargin;
+        bounds[CompSimEnum.average.index] = (jaroWinkler + jaccard + normLevenshtein) / 3 + roundingMargin;
+    }
+
+    /**
+     * Calculates the upper bound of the "Jaccard" similarity of the names in any word order.
+     * A common shingle is either inside a word of both names or over a word border in one of them,
+     * and all different shingles inside the words are part of the union.
+     *
+     * @param firstWords contains the words of the first name
+     * @param firstLength number of characters of the first name
+     * @param secondWords contains the words of the second name
+     * @param secondLength number of characters of the second name
+     * @return the upper bound (not above 1)
+     */
+    private static double jaccardUpperBound(String[] firstWords, int firstLength, String[] secondWords, int secondLength){
+        long[][] buffers = shingleBuffers.get();
+        int firstBorderShingles = Math.max(firstLength - SimilarityKernel.shingleLength + 1, 0);
+        int secondBorderShingles = Math.max(secondLength - SimilarityKernel.shingleLength + 1, 0);
+        int firstInnerCount = collectInnerShingles(firstWords, firstBorderShingles, buffers, 0);
+        int secondInnerCount = collectInnerShingles(secondWords, secondBorderShingles, buffers, 1);
+
+        for(String word : firstWords){
+            firstBorderShingles -= Math.max(word.length() - SimilarityKernel.shingleLength + 1, 0);
+        }
+        for(String word : secondWords){
+            secondBorderShingles -= Math.max(word.length() - SimilarityKernel.shingleLength + 1, 0);
+        }
+
+        long[] firstShingles = buffers[0], secondShingles = buffers[1];
+        int commonInner = 0;
+
+        for (int i = 0, j = 0; i < firstInnerCount && j < secondInnerCount; ) {
+            if(firstShingles[i] == secondShingles[j]){
+                commonInner++;
+                i++;
+                j++;
+            }
+            else if(firstShingles[i] < secondShingles[j]){
+                i++;
+            }
+            else {
+                j++;
+            }
+        }
+
+        int unionInner = firstInnerCount + secondInnerCount - commonInner;
+        int maxIntersection = commonInner + firstBorderShingles + secondBorderShingles;
+
+        if(maxIntersection >= unionInner){
+            return 1.0;
+        }
+        return (double) maxIntersection / unionInner;
+    }
+
+    /**
+     * Collects the different shingles inside the single words of a name, sorted and packed into longs.
+     *
+     * @param words contains the words of a name
+     * @param shingleCount number of all shingles of the name (not less than the inner shingles)
+     * @param buffers shingle buffers of the current thread
+     * @param bufferIndex index of the buffer to use
+     * @return number of different inner shingles
+     */
+    private static int collectInnerShingles(String[] words, int shingleCount, long[][] buffers, int bufferIndex){
+        if(buffers[bufferIndex].length < shingleCount){
+            buffers[bufferIndex] = new long[Math.max(shingleCount, buffers[bufferIndex].length * 2)];
+        }
+
+        long[] shingles = buffers[bufferIndex];
+        int count = 0;
+
+        for(String word : words){
+            for (int i = 0; i + SimilarityKernel.shingleLength <= word.length(); i++) {
+                shingles[count++] = ((long) word.charAt(i) << 32) | ((long) word.charAt(i + 1) << 16) | word.charAt(i + 2);
+            }
+        }
+        if(count == 0){
+            return 0;
+        }
+        Arrays.sort(shingles, 0, count);
+
+        int distinct = 1;
+        for (int i = 1; i < count; i++) {
+            if(shingles[i] != shingles[distinct - 1]){
+                shingles[distinct++] = shingles[i];
+            }
+        }
+
+        return distinct;
+    }
+
+    /**
+     * Writes the characters of all words sorted into the buffer with index "bufferIndex".
+     *
+     * @param words contains the words of a name
+     * @param buffers character buffers of the current thread
+     * @param bufferIndex index of the buffer to use
+     * @return the number of characters or -1, if the words contain equal words or whitespace
+     */
+    private static int collectSortedCharacters(String[] words, char[][] buffers, int bufferIndex){
+        int length = 0;
+
+        for (int i = 0; i < words.length; i++) {
+            for (int j = 0; j < i; j++) {
+                if(words[i].equals(words[j])){
+                    return -1;
+                }
+            }
+            length += words[i].length();
+        }
+
+        if(buffers[bufferIndex].length < length){
+            buffers[bufferIndex] = new char[Math.max(length, buffers[bufferIndex].length * 2)];
+        }
+
+        char[] characters = buffers[bufferIndex];
+        int position = 0;
+
+        for (String word : words) {
+            word.getChars(0, word.length(), characters, position);
+            position += word.length();
+        }
+        for (int i = 0; i < length; i++) {
+            if(Character.isWhitespace(characters[i])){
+                return -1;
+            }
+        }
+
+        Arrays.sort(characters, 0, length);
+        return length;
+    }
+
+    /**
+     * Counts the characters both sorted character arrays have in common (with repetitions).
+     *
+     * @param first sorted characters of the first name
+     * @param firstLength number of characters of the first name
+     * @param second sorted characters of the second name
+     * @param secondLength number of characters of the second name
+     * @return number of common characters
+     */
+    private static int countCommonCharacters(char[] first, int firstLength, char[] second, int secondLength){
+        int common = 0;
+
+        for (int i = 0, j = 0; i < firstLength && j < secondLength; ) {
+            if(first[i] == second[j]){
+                common++;
+                i++;
+                j++;
+            }
+            else if(first[i] < second[j]){
+                i++;
+            }
+            else {
+                j++;
+            }
+        }
+
+        return common;
+    }
+}
@@ -0,0 +1,149 @@
+package com.matching.MatchingAPI.Matching;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.google.gson.JsonObject;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Size bounded, concurrent cache for the similarity values of two names (see {@link StringSimilarityService#compareStrings(String, String)}).
+ * Names are saved as their single words, so names that only differ in writing (like "Power Supply" and "power supply") share one entry.
+ * Full caches evict with Window TinyLFU (like LRU, but keeps pairs that are compared often), optionally entries expire some minutes after the last access.
+ * An entry only contains the values of the compositional methods that were calculated (the others are null),
+ * if a request needs more of them, they are calculated together with the existing ones and the entry is replaced.
+ */
+public class SimilarityCache {
+    private final Cache<NamePair, Double[]> similarities;
+
+    /**
+     * Calculates the similarity values from the single words of both names, only for the base algorithms in "baseMetrics" (see {@link CompSimEnum}).
+     */
+    interface WordComparison {
+        Double[] compare(String[] firstWords, String[] secondWords, int baseMetrics);
+    }
+
+    /**
+     * Single words of the first and second name, as key of the cache.
+     */
+    private static class NamePair {
+        private final String[] firstWords, secondWords;
+        private final int hash;
+
+        NamePair(String[] firstWords, String[] secondWords){
+            this.firstWords = firstWords;
+            this.secondWords = secondWords;
+            this.hash = 31 * Arrays.hashCode(firstWords) + Arrays.hashCode(secondWords);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if(!(other instanceof NamePair)){
+                return false;
+            }
+            NamePair otherPair = (NamePair) other;
+
+            return hash == otherPair.hash && Arrays.equals(firstWords, otherPair.firstWords) && Arrays.equals(secondWords, otherPair.secondWords);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * @param maximumSize number of name pairs that are cached at most (0 = no caching)
+     * @param expireMinutes minutes after the last access until a name pair is removed (0 = never)
+     */
+    public SimilarityCache(long maximumSize, long expireMinutes){
+        if(maximumSize <= 0){
+            similarities = null;
+            return;
+        }
+
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().maximumSize(maximumSize).recordStats();
+
+        if(expireMinutes > 0){
+            builder.expireAfterAccess(expireMinutes, TimeUnit.MINUTES);
+        }
+        similarities = builder.build();
+    }
+
+    /**
+     * Returns the cached similarity values of both names, or calculates them with "compareWords" and caches them.
+     * If the cached values miss a method of "methods", they are calculated again with the base algorithms of both.
+     * The returned array can be shared between several callers and must not be changed.
+     *
+     * @param firstWords the single words of the first name
+     * @param secondWords the single words of the second name
+     * @param methods contains the compositional methods that are needed
+     * @param compareWords calculates the similarity values from the single words of both names
+     * @return the similarity values for every compositional method (at least the ones in "methods", the others can be null)
+     */
+    Double[] get(String[] firstWords, String[] secondWords, CompSimSelection methods, WordComparison compareWords){
+        if(similarities == null){
+            return compareWords.compare(firstWords, secondWords, methods.getBaseMetrics());
+        }
+
+        NamePair key = new NamePair(firstWords, secondWords);
+        Double[] values = similarities.get(key, namePair -> compareWords.compare(namePair.firstWords, namePair.secondWords, methods.getBaseMetrics()));
+
+        if(!containsMethods(values, methods)){
+            values = compareWords.compare(firstWords, secondWords, methods.getBaseMetrics() | getCalculatedBaseMetrics(values));
+            similarities.put(key, values);
+        }
+        return values;
+    }
+
+    /**
+     * @param values contains cached similarity values
+     * @param methods contains the compositional methods that are needed
+     * @return true, if "values" contains every method of "methods"
+     */
+    private static boolean containsMethods(Double[] values, CompSimSelection methods){
+        for (int i = 0; i < values.length; i++) {
+            if(values[i] == null && methods.isSelected(i)){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param values contains cached similarity values
+     * @return the base algorithms that were calculated for "values"
+     */
+    private static int getCalculatedBaseMetrics(Double[] values){
+        int baseMetrics = 0;
+
+        for(CompSimEnum method : CompSimEnum.values()){
+            if(values[method.index] != null){
+                baseMetrics |= method.baseMetrics;
+            }
+        }
+        return baseMetrics;
+    }
+
+    /**
+     * Creates json with size, hits, misses and evictions of the cache.
+     *
+     * @return the statistics or an empty json, if there is no cache
+     */
+    public JsonObject getStatistics(){
+        JsonObject statistics = new JsonObject();
+
+        if(similarities != null){
+            CacheStats stats = similarities.stats();
+
+            statistics.addProperty("size", similarities.estimatedSize());
+            statistics.addProperty("hitCount", stats.hitCount());
+            statistics.addProperty("missCount", stats.missCount());
+            statistics.addProperty("hitRate", stats.hitRate());
+            statistics.addProperty("evictionCount", stats.evictionCount());
+        }
+        return statistics;
+    }
+}
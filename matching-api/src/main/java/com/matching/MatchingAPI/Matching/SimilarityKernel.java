@@ -0,0 +1,694 @@
+package com.matching.MatchingAPI.Matching;
+
+import com.matching.MatchingAPI.Settings;
+
+import java.util.Arrays;
+
+/**
+ * Calculates the "Jaro Winkler", "Jaccard" and "Normalized Levenshtein" similarity of a string pair together.
+ * Gives the same values as the implementations of the "java-string-similarity" library,
+ * but works on reused character arrays of the current thread, so no memory is allocated per comparison.
+ *
+ * With "bitParallel", "Jaro Winkler" and "Levenshtein" of strings up to "bitParallelLength" characters work on bit masks
+ * of the character positions in the longer string (one bit per character in a long):
+ * "Jaro Winkler" searches the matching window with one mask operation and "Levenshtein" calculates
+ * a whole matrix column at once (algorithm of Myers in the version of Hyyrö). Longer strings use the classic algorithms.
+ */
+class SimilarityKernel {
+    final static double jaroWinklerThreshold = 0.7;
+    final static double jaroWinklerPrefixScale = 0.1;
+    final static int shingleLength = 3;
+    final static int bitParallelLength = Long.SIZE;
+    static boolean bitParallel = Settings.getInstance().isBitParallelSimilarity();
+
+    private final static ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+
+    /**
+     * Reusable buffers of one thread.
+     */
+    private static class Scratch {
+        char[] first = new char[32];
+        char[] second = new char[32];
+        boolean[] matchFlags = new boolean[32];
+        boolean[] minMatched = new boolean[32];
+        int[] previousRow = new int[33];
+        int[] currentRow = new int[33];
+        long[] firstShingles = new long[32];
+        long[] secondShingles = new long[32];
+        long[] asciiMasks = new long[128];
+        char[] otherChars = new char[bitParallelLength];
+        long[] otherMasks = new long[bitParallelLength];
+        int otherCount;
+        long[] equalMasks = new long[bitParallelLength];
+
+        /**
+         * Enlarges the buffers, if they are too small for strings of the given lengths.
+         *
+         * @param firstLength length of the first string
+         * @param secondLength length of the second string
+         */
+        void ensureCapacity(int firstLength, int secondLength){
+            int length = Math.max(firstLength, secondLength);
+
+            if(first.length < length){
+                int capacity = Math.max(length, first.length * 2);
+
+                first = new char[capacity];
+                second = new char[capacity];
+                matchFlags = new boolean[capacity];
+                minMatched = new boolean[capacity];
+                previousRow = new int[capacity + 1];
+                currentRow = new int[capacity + 1];
+                firstShingles = new long[capacity];
+                secondShingles = new long[capacity];
+            }
+        }
+
+        /**
+         * Saves for every character of "chars" the bit mask of its positions.
+         *
+         * @param chars characters of the longer string
+         * @param length length of the longer string (maximal "bitParallelLength")
+         */
+        void setMasks(char[] chars, int length){
+            for (int i = 0; i < length; i++) {
+                char c = chars[i];
+
+                if(c < asciiMasks.length){
+                    asciiMasks[c] |= 1L << i;
+                }
+                else {
+                    int other = 0;
+                    while (other < otherCount && otherChars[other] != c) {
+                        other++;
+                    }
+                    if(other == otherCount){
+                        otherChars[otherCount] = c;
+                        otherMasks[otherCount++] = 0;
+                    }
+                    otherMasks[other] |= 1L << i;
+                }
+            }
+        }
+
+        /**
+         * @param c contains a character
+         * @return the bit mask of the positions of "c" in the longer string (0, if it does not contain "c")
+         */
+        long mask(char c){
+            if(c < asciiMasks.length){
+                return asciiMasks[c];
+            }
+            for (int other = 0; other < otherCount; other++) {
+                if(otherChars[other] == c){
+                    return otherMasks[other];
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * Removes the bit masks of "setMasks".
+         *
+         * @param chars characters of the longer string
+         * @param length length of the longer string
+         */
+        void clearMasks(char[] chars, int length){
+            for (int i = 0; i < length; i++) {
+                if(chars[i] < asciiMasks.length){
+                    asciiMasks[chars[i]] = 0;
+                }
+            }
+            otherCount = 0;
+        }
+    }
+
+    /**
+     * Everything of a string that does not depend on the string it is compared with: its characters, its distinct shingles
+     * and (up to "bitParallelLength" characters) the bit mask of the positions of every distinct character.
+     * Is never changed after it is built, so it can be shared between threads.
+     */
+    static class Profile {
+        final String string;
+        final char[] chars;
+        final long[] shingles;
+        final char[] maskChars;
+        final long[] masks;
+
+        private Profile(String string, char[] chars, long[] shingles, char[] maskChars, long[] masks){
+            this.string = string;
+            this.chars = chars;
+            this.shingles = shingles;
+            this.maskChars = maskChars;
+            this.masks = masks;
+        }
+
+        /**
+         * @param c contains a character
+         * @return the bit mask of the positions of "c" in the string (0, if it does not contain "c")
+         */
+        long mask(char c){
+            int index = Arrays.binarySearch(maskChars, c);
+
+            return index < 0 ? 0 : masks[index];
+        }
+    }
+
+    /**
+     * Builds the {@link Profile} of a string.
+     *
+     * @param string contains a string
+     * @return the profile of the string
+     */
+    static Profile profile(String string){
+        char[] chars = string.toCharArray();
+        long[] shingles = new long[Math.max(chars.length, 1)];
+        int shingleCount = collectShingles(chars.clone(), chars.length, shingles);
+
+        char[] maskChars = null;
+        long[] masks = null;
+        if(chars.length <= bitParallelLength){
+            maskChars = chars.clone();
+            Arrays.sort(maskChars);
+
+            int distinct = 0;
+            for (int i = 0; i < maskChars.length; i++) {
+                if(i == 0 || maskChars[i] != maskChars[distinct - 1]){
+                    maskChars[distinct++] = maskChars[i];
+                }
+            }
+            maskChars = Arrays.copyOf(maskChars, distinct);
+            masks = new long[distinct];
+
+            for (int i = 0; i < chars.length; i++) {
+                masks[Arrays.binarySearch(maskChars, chars[i])] |= 1L << i;
+            }
+        }
+
+        return new Profile(string, chars, Arrays.copyOf(shingles, shingleCount), maskChars, masks);
+    }
+
+    /**
+     * Calculates all three similarity values of both strings and writes them into "similarities"
+     * at the indices of "CompSimEnum.jaroWinkler", "CompSimEnum.jaccard" and "CompSimEnum.normLevenshtein".
+     *
+     * @param first contains a string
+     * @param second contains another string
+     * @param similarities receives the similarity values (at least 3 entries)
+     */
+    static void calculateSimilarities(String first, String second, double[] similarities){
+        calculateSimilarities(first, second, similarities, CompSimEnum.allBaseMetrics);
+    }
+
+    /**
+     * Calculates only the similarity values in "baseMetrics" (bits of the indices of the three algorithms, see {@link CompSimEnum}).
+     * The other entries of "similarities" are not defined.
+     *
+     * @param first contains a string
+     * @param second contains another string
+     * @param similarities receives the similarity values (at least 3 entries)
+     * @param baseMetrics contains the algorithms to calculate
+     */
+    static void calculateSimilarities(String first, String second, double[] similarities, int baseMetrics){
+        if(first.equals(second)){
+            similarities[CompSimEnum.jaroWinkler.index] = 1;
+            similarities[CompSimEnum.jaccard.index] = 1;
+            similarities[CompSimEnum.normLevenshtein.index] = 1;
+            return;
+        }
+
+        Scratch buffers = scratch.get();
+        int firstLength = first.length();
+        int secondLength = second.length();
+
+        buffers.ensureCapacity(firstLength, secondLength);
+        first.getChars(0, firstLength, buffers.first, 0);
+        second.getChars(0, secondLength, buffers.second, 0);
+
+        boolean jaroWinkler = (baseMetrics & CompSimEnum.jaroWinkler.baseMetrics) != 0;
+        boolean normLevenshtein = (baseMetrics & CompSimEnum.normLevenshtein.baseMetrics) != 0;
+        int maxLength = Math.max(firstLength, secondLength);
+
+        if(bitParallel && maxLength <= bitParallelLength && (jaroWinkler || normLevenshtein)){
+            char[] longer = firstLength > secondLength ? buffers.first : buffers.second;
+            char[] shorter = firstLength > secondLength ? buffers.second : buffers.first;
+            int minLength = Math.min(firstLength, secondLength);
+
+            buffers.setMasks(longer, maxLength);
+            for (int i = 0; i < minLength; i++) {
+                buffers.equalMasks[i] = buffers.mask(shorter[i]);
+            }
+            buffers.clearMasks(longer, maxLength);
+
+            bitParallelSimilarities(shorter, minLength, longer, maxLength, buffers.equalMasks, similarities, jaroWinkler, normLevenshtein);
+        }
+        else {
+            if(jaroWinkler){
+                similarities[CompSimEnum.jaroWinkler.index] = jaroWinkler(buffers, firstLength, secondLength);
+            }
+            if(normLevenshtein){
+                similarities[CompSimEnum.normLevenshtein.index] = normLevenshtein(buffers, firstLength, secondLength);
+            }
+        }
+        //last, because the shingles are collected in place of the characters
+        if((baseMetrics & CompSimEnum.jaccard.baseMetrics) != 0){
+            similarities[CompSimEnum.jaccard.index] = jaccard(buffers, firstLength, secondLength);
+        }
+    }
+
+    /**
+     * Calculates the average of the three similarity values of both strings.
+     *
+     * @param first contains a string
+     * @param second contains another string
+     * @param similarities buffer for the single similarity values (at least 3 entries)
+     * @return the average similarity value of both strings
+     */
+    static double calculateAverageSimilarity(String first, String second, double[] similarities){
+        calculateSimilarities(first, second, similarities);
+
+        return (similarities[CompSimEnum.jaroWinkler.index] + similarities[CompSimEnum.jaccard.index]
+                + similarities[CompSimEnum.normLevenshtein.index]) / 3;
+    }
+
+    /**
+     * Calculates all three similarity values of two prepared strings (see {@link #profile}) and writes them into "similarities",
+     * like {@link #calculateSimilarities(String, String, double[])}.
+     * The shingles and the bit masks of the characters are taken from the profiles, instead of being collected for every comparison.
+     *
+     * @param first contains the profile of a string
+     * @param second contains the profile of another string
+     * @param similarities receives the similarity values (at least 3 entries)
+     */
+    static void calculateSimilarities(Profile first, Profile second, double[] similarities){
+        if(first.string.equals(second.string)){
+            similarities[CompSimEnum.jaroWinkler.index] = 1;
+            similarities[CompSimEnum.jaccard.index] = 1;
+            similarities[CompSimEnum.normLevenshtein.index] = 1;
+            return;
+        }
+
+        Profile longer = first.chars.length > second.chars.length ? first : second;
+        Profile shorter = first.chars.length > second.chars.length ? second : first;
+        int maxLength = longer.chars.length, minLength = shorter.chars.length;
+
+        if(bitParallel && longer.maskChars != null){
+            long[] equalMasks = scratch.get().equalMasks;
+            for (int i = 0; i < minLength; i++) {
+                equalMasks[i] = longer.mask(shorter.chars[i]);
+            }
+
+            bitParallelSimilarities(shorter.chars, minLength, longer.chars, maxLength, equalMasks, similarities, true, true);
+        }
+        else {
+            Scratch buffers = scratch.get();
+            buffers.ensureCapacity(first.chars.length, second.chars.length);
+            System.arraycopy(first.chars, 0, buffers.first, 0, first.chars.length);
+            System.arraycopy(second.chars, 0, buffers.second, 0, second.chars.length);
+
+            similarities[CompSimEnum.jaroWinkler.index] = jaroWinkler(buffers, first.chars.length, second.chars.length);
+            similarities[CompSimEnum.normLevenshtein.index] = normLevenshtein(buffers, first.chars.length, second.chars.length);
+        }
+        similarities[CompSimEnum.jaccard.index] = jaccard(first.shingles, first.shingles.length, second.shingles, second.shingles.length);
+    }
+
+    /**
+     * Calculates the average of the three similarity values of two prepared strings.
+     *
+     * @param first contains the profile of a string
+     * @param second contains the profile of another string
+     * @param similarities buffer for the single similarity values (at least 3 entries)
+     * @return the average similarity value of both strings
+     */
+    static double calculateAverageSimilarity(Profile first, Profile second, double[] similarities){
+        calculateSimilarities(first, second, similarities);
+
+        return (similarities[CompSimEnum.jaroWinkler.index] + similarities[CompSimEnum.jaccard.index]
+                + similarities[CompSimEnum.normLevenshtein.index]) / 3;
+    }
+
+    /**
+     * Calculates "Jaro Winkler" and "Normalized Levenshtein" of two different strings up to "bitParallelLength" characters
+     * with the bit masks of the longer string.
+     *
+     * @param min characters of the shorter string
+     * @param minLength length of the shorter string
+     * @param max characters of the longer string
+     * @param maxLength length of the longer string (1 to "bitParallelLength")
+     * @param equalMasks contains for every character of the shorter string the bit mask of its positions in the longer string
+     * @param similarities receives the similarity values
+     * @param jaroWinkler true, if "Jaro Winkler" is calculated
+     * @param normLevenshtein true, if "Normalized Levenshtein" is calculated
+     */
+    private static void bitParallelSimilarities(char[] min, int minLength, char[] max, int maxLength, long[] equalMasks, double[] similarities,
+                                                boolean jaroWinkler, boolean normLevenshtein){
+        if(jaroWinkler){
+            similarities[CompSimEnum.jaroWinkler.index] = bitParallelJaroWinkler(min, minLength, max, maxLength, equalMasks);
+        }
+        if(normLevenshtein){
+            similarities[CompSimEnum.normLevenshtein.index] = 1.0 - bitParallelLevenshteinDistance(equalMasks, minLength, maxLength) / (double) maxLength;
+        }
+    }
+
+    /**
+     * Calculates the "Jaro Winkler" similarity of two different strings (same float arithmetic as the library).
+     *
+     * @param buffers contains both strings in "first" and "second"
+     * @param firstLength length of the first string
+     * @param secondLength length of the second string
+     * @return the similarity value of both strings
+     */
+    private static double jaroWinkler(Scratch buffers, int firstLength, int secondLength){
+        char[] max, min;
+        int maxLength, minLength;
+
+        if(firstLength > secondLength){
+            max = buffers.first;
+            maxLength = firstLength;
+            min = buffers.second;
+            minLength = secondLength;
+        }
+        else {
+            max = buffers.second;
+            maxLength = secondLength;
+            min = buffers.first;
+            minLength = firstLength;
+        }
+
+        boolean[] matchFlags = buffers.matchFlags;
+        boolean[] minMatched = buffers.minMatched;
+        Arrays.fill(matchFlags, 0, maxLength, false);
+        Arrays.fill(minMatched, 0, minLength, false);
+
+        int range = Math.max(maxLength / 2 - 1, 0);
+        int matches = 0;
+
+        for (int minIndex = 0; minIndex < minLength; minIndex++) {
+            char c = min[minIndex];
+
+            for (int maxIndex = Math.max(minIndex - range, 0), end = Math.min(minIndex + range + 1, maxLength); maxIndex < end; maxIndex++) {
+                if(!matchFlags[maxIndex] && c == max[maxIndex]){
+                    matchFlags[maxIndex] = true;
+                    minMatched[minIndex] = true;
+                    matches++;
+                    break;
+                }
+            }
+        }
+
+        if(matches == 0){
+            return 0;
+        }
+
+        int transpositions = 0;
+        for (int minIndex = 0, maxIndex = 0; minIndex < minLength; minIndex++) {
+            if(minMatched[minIndex]){
+                while (!matchFlags[maxIndex]) {
+                    maxIndex++;
+                }
+                if(min[minIndex] != max[maxIndex]){
+                    transpositions++;
+                }
+                maxIndex++;
+            }
+        }
+
+        return jaroWinkler(min, minLength, max, maxLength, matches, transpositions / 2);
+    }
+
+    /**
+     * Calculates the "Jaro Winkler" similarity of two different strings up to "bitParallelLength" characters,
+     * with the bit masks of the longer string.
+     * Every character of the shorter string matches the first unmatched equal character in its window of the longer string,
+     * like in "jaroWinkler", but the window is searched with one mask operation.
+     *
+     * @param min characters of the shorter string
+     * @param minLength length of the shorter string
+     * @param max characters of the longer string
+     * @param maxLength length of the longer string
+     * @param equalMasks contains for every character of the shorter string the bit mask of its positions in the longer string
+     * @return the similarity value of both strings
+     */
+    private static double bitParallelJaroWinkler(char[] min, int minLength, char[] max, int maxLength, long[] equalMasks){
+        int range = Math.max(maxLength / 2 - 1, 0);
+        long maxMatched = 0, minMatched = 0;
+        int matches = 0;
+
+        for (int minIndex = 0; minIndex < minLength; minIndex++) {
+            int start = Math.max(minIndex - range, 0), end = Math.min(minIndex + range + 1, maxLength);
+            long window = (end == bitParallelLength ? -1L : (1L << end) - 1) & (-1L << start);
+            long candidates = equalMasks[minIndex] & ~maxMatched & window;
+
+            if(candidates != 0){
+                maxMatched |= candidates & -candidates;
+                minMatched |= 1L << minIndex;
+                matches++;
+            }
+        }
+
+        if(matches == 0){
+            return 0;
+        }
+
+        int transpositions = 0;
+        while (minMatched != 0) {
+            if(min[Long.numberOfTrailingZeros(minMatched)] != max[Long.numberOfTrailingZeros(maxMatched)]){
+                transpositions++;
+            }
+            minMatched &= minMatched - 1;
+            maxMatched &= maxMatched - 1;
+        }
+
+        return jaroWinkler(min, minLength, max, maxLength, matches, transpositions / 2);
+    }
+
+    /**
+     * Calculates the "Jaro Winkler" similarity from the matching characters of both strings and their common prefix
+     * (same float arithmetic as the library).
+     *
+     * @param min characters of the shorter string
+     * @param minLength length of the shorter string
+     * @param max characters of the longer string
+     * @param maxLength length of the longer string
+     * @param matches number of matching characters (not 0)
+     * @param transpositions number of matching characters in different order, divided by 2
+     * @return the similarity value of both strings
+     */
+    private static double jaroWinkler(char[] min, int minLength, char[] max, int maxLength, int matches, int transpositions){
+        float m = matches;
+
+        int prefix = 0;
+        while (prefix < minLength && min[prefix] == max[prefix]) {
+            prefix++;
+        }
+
+        double jaro = (m / maxLength + m / minLength + (m - transpositions) / m) / 3;
+        double jaroWinkler = jaro;
+
+        if(jaro > jaroWinklerThreshold){
+            jaroWinkler = jaro + Math.min(jaroWinklerPrefixScale, 1.0 / maxLength) * prefix * (1 - jaro);
+        }
+
+        return jaroWinkler;
+    }
+
+    /**
+     * Calculates the "Normalized Levenshtein" similarity of two different strings.
+     *
+     * @param buffers contains both strings in "first" and "second"
+     * @param firstLength length of the first string
+     * @param secondLength length of the second string
+     * @return the similarity value of both strings
+     */
+    private static double normLevenshtein(Scratch buffers, int firstLength, int secondLength){
+        int maxLength = Math.max(firstLength, secondLength);
+
+        return 1.0 - levenshteinDistance(buffers, firstLength, secondLength) / (double) maxLength;
+    }
+
+    /**
+     * Calculates the "Levenshtein" distance of two different strings with two matrix rows.
+     *
+     * @param buffers contains both strings in "first" and "second"
+     * @param firstLength length of the first string
+     * @param secondLength length of the second string
+     * @return number of edits to change the first into the second string
+     */
+    private static int levenshteinDistance(Scratch buffers, int firstLength, int secondLength){
+        if(firstLength == 0){
+            return secondLength;
+        }
+        if(secondLength == 0){
+            return firstLength;
+        }
+
+        char[] first = buffers.first;
+        char[] second = buffers.second;
+        int[] previousRow = buffers.previousRow;
+        int[] currentRow = buffers.currentRow;
+
+        for (int j = 0; j <= secondLength; j++) {
+            previousRow[j] = j;
+        }
+
+        for (int i = 0; i < firstLength; i++) {
+            char c = first[i];
+            currentRow[0] = i + 1;
+
+            for (int j = 0; j < secondLength; j++) {
+                int cost = c == second[j] ? 0 : 1;
+                currentRow[j + 1] = Math.min(Math.min(currentRow[j] + 1, previousRow[j + 1] + 1), previousRow[j] + cost);
+            }
+
+            int[] swap = previousRow;
+            previousRow = currentRow;
+            currentRow = swap;
+        }
+
+        return previousRow[secondLength];
+    }
+
+    /**
+     * Calculates the "Levenshtein" distance of two different strings with the bit masks of the longer string.
+     * Every step calculates the differences between the neighbouring cells of a whole matrix column (bits of "positive" and "negative")
+     * and follows the distance in the last row.
+     *
+     * @param equalMasks contains for every character of the shorter string the bit mask of its positions in the longer string
+     * @param shorterLength length of the shorter string
+     * @param longerLength length of the longer string (1 to "bitParallelLength")
+     * @return number of edits to change the first into the second string
+     */
+    private static int bitParallelLevenshteinDistance(long[] equalMasks, int shorterLength, int longerLength){
+        long positive = -1L, negative = 0;
+        long lastRow = 1L << (longerLength - 1);
+        int distance = longerLength;
+
+        for (int j = 0; j < shorterLength; j++) {
+            long equal = equalMasks[j];
+            long vertical = equal | negative;
+            long horizontal = (((equal & positive) + positive) ^ positive) | equal;
+            long horizontalPositive = negative | ~(horizontal | positive);
+            long horizontalNegative = positive & horizontal;
+
+            if((horizontalPositive & lastRow) != 0){
+                distance++;
+            }
+            else if((horizontalNegative & lastRow) != 0){
+                distance--;
+            }
+
+            horizontalPositive = (horizontalPositive << 1) | 1;
+            horizontalNegative <<= 1;
+            positive = horizontalNegative | ~(vertical | horizontalPositive);
+            negative = horizontalPositive & vertical;
+        }
+
+        return distance;
+    }
+
+    /**
+     * Calculates the "Jaccard" similarity of the sets of 3-character shingles of two different strings.
+     * Like the library, runs of whitespace count as a single space and
+     * the value is NaN, if both strings are too short for a shingle.
+     *
+     * @param buffers contains both strings in "first" and "second"
+     * @param firstLength length of the first string
+     * @param secondLength length of the second string
+     * @return the similarity value of both strings
+     */
+    private static double jaccard(Scratch buffers, int firstLength, int secondLength){
+        int firstShingleCount = collectShingles(buffers.first, firstLength, buffers.firstShingles);
+        int secondShingleCount = collectShingles(buffers.second, secondLength, buffers.secondShingles);
+
+        return jaccard(buffers.firstShingles, firstShingleCount, buffers.secondShingles, secondShingleCount);
+    }
+
+    /**
+     * Calculates the "Jaccard" similarity of two sets of shingles.
+     *
+     * @param firstShingles contains the distinct shingles of the first string in ascending order
+     * @param firstShingleCount number of shingles of the first string
+     * @param secondShingles contains the distinct shingles of the second string in ascending order
+     * @param secondShingleCount number of shingles of the second string
+     * @return the similarity value (NaN, if both strings have no shingles)
+     */
+    private static double jaccard(long[] firstShingles, int firstShingleCount, long[] secondShingles, int secondShingleCount){
+        int intersection = 0;
+
+        for (int i = 0, j = 0; i < firstShingleCount && j < secondShingleCount; ) {
+            if(firstShingles[i] == secondShingles[j]){
+                intersection++;
+                i++;
+                j++;
+            }
+            else if(firstShingles[i] < secondShingles[j]){
+                i++;
+            }
+            else {
+                j++;
+            }
+        }
+
+        int union = firstShingleCount + secondShingleCount - intersection;
+
+        return 1.0 * intersection / union;
+    }
+
+    /**
+     * Collects the distinct 3-character shingles of a string, each packed into a long, in ascending order.
+     * Runs of whitespace are collapsed to a single space before (in place, the string is not needed afterwards).
+     *
+     * @param chars characters of the string
+     * @param length length of the string
+     * @param shingles receives the shingles
+     * @return number of distinct shingles
+     */
+    private static int collectShingles(char[] chars, int length, long[] shingles){
+        int collapsedLength = 0;
+        boolean previousWhitespace = false;
+
+        for (int i = 0; i < length; i++) {
+            char c = chars[i];
+
+            if(isRegexWhitespace(c)){
+                if(!previousWhitespace){
+                    chars[collapsedLength++] = ' ';
+                }
+                previousWhitespace = true;
+            }
+            else {
+                chars[collapsedLength++] = c;
+                previousWhitespace = false;
+            }
+        }
+
+        int count = collapsedLength - shingleLength + 1;
+        if(count <= 0){
+            return 0;
+        }
+
+        for (int i = 0; i < count; i++) {
+            shingles[i] = ((long) chars[i] << 32) | ((long) chars[i + 1] << 16) | chars[i + 2];
+        }
+        Arrays.sort(shingles, 0, count);
+
+        int distinct = 1;
+        for (int i = 1; i < count; i++) {
+            if(shingles[i] != shingles[distinct - 1]){
+                shingles[distinct++] = shingles[i];
+            }
+        }
+
+        return distinct;
+    }
+
+    /**
+     * Checks, if a character belongs to the regex class "\s" ([ \t\n\x0B\f\r]).
+     *
+     * @param c contains a character
+     * @return true, if the character is whitespace for "\s"
+     */
+    private static boolean isRegexWhitespace(char c){
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+}
@@ -1,282 +1,228 @@
 package com.matching.MatchingAPI.Matching;
 
 import com.matching.MatchingAPI.Entry;
+import com.matching.MatchingAPI.Settings;
 import info.debatty.java.stringsimilarity.Jaccard;
 import info.debatty.java.stringsimilarity.JaroWinkler;
 import info.debatty.java.stringsimilarity.NormalizedLevenshtein;
-import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.math.NumberUtils;
 
-import java.util.*;
-import java.util.regex.Pattern;
-
 /**
  * Calculate string similarity.
  */
 public class StringSimilarityService {
-    final static Pattern minOneBigCharacter = Pattern.compile(".*[A-Z].*"), minOneSpecialCharacter = Pattern.compile(".*[`~!@#$%^&*()\\-_=+\\\\|\\[{\\]};:'\",<.>/?].*");
-    final static String RegExLookAheadAllSpecialCharacters = "(?=[`~!@#$%^&*()\\-_=+\\\\|\\[{\\]};:'\",<.>/?])",
-            RegExAllSpecialCharacters = "[`~!@#$%^&*()\\-_=+\\\\|\\[{\\]};:'\",<.>/?]", RegExAllBigCharacters = "(?=[A-Z])";
-
     static JaroWinkler jw = new JaroWinkler();
     static NormalizedLevenshtein nl = new NormalizedLevenshtein();
     static Jaccard jc = new Jaccard();
+    static SimilarityCache similarityCache = new SimilarityCache(Settings.getInstance().getSimilarityCacheSize(), Settings.getInstance().getSimilarityCacheExpireMinutes());
+    static PreparedPropertyRegistry preparedProperties = new PreparedPropertyRegistry(Settings.getInstance().getPreparedPropertyCacheSize());
+    private final static ThreadLocal<double[]> similarityBuffer = ThreadLocal.withInitial(() -> new double[3]);
+    private final static CompSimEnum[] compositionalMethods = CompSimEnum.values();
 
     /**
-     * Check if a string contains big characters.
+     * Calculates best order of the words in first and second string to each other.
+     * (best order means, for highest possible similarity value)
      *
-     * @param string a word, sentence,...
-     * @return if string contains big characters its true, else its false
+     * Calculates similarity between every word of both strings and assigns the words with "WordAlignment".
+     * Counts the calculation and the compared word pairs for the {@link MatchingDiagnostics} of the request.
+     * Left words of the string with more words are appended to it.
+     *
+     * @param firstWords contain the words that make up the first String
+     * @param secondWords contain the words that make up the second String
+     * @return first and second string in another word order, for better similarity calculation
      */
-    private static boolean checkForBigCharacters(String string){
-        if(minOneBigCharacter.matcher(string).find()){
-            return true;
-        }
-        return false;
+    static Entry<String, String> changeWordOrder(String[] firstWords, String[] secondWords){
+        return changeWordOrder(firstWords, secondWords, null, null);
     }
 
     /**
-     * Check if a string contains special characters.
+     * Like {@link #changeWordOrder(String[], String[])}, but the words are compared with their profiles, if there are any.
      *
-     * @param string a word, sentence,...
-     * @return if string contains special characters its true, else its false
+     * @param firstWords contain the words that make up the first String
+     * @param secondWords contain the words that make up the second String
+     * @param firstProfiles contains the profiles of "firstWords" (or null)
+     * @param secondProfiles contains the profiles of "secondWords" (or null)
+     * @return first and second string in another word order, for better similarity calculation
      */
-    private static boolean checkForSpecialCharacters(String string){
-        if(minOneSpecialCharacter.matcher(string).find()){
-            return true;
+    private static Entry<String, String> changeWordOrder(String[] firstWords, String[] secondWords, SimilarityKernel.Profile[] firstProfiles, SimilarityKernel.Profile[] secondProfiles){
+        MatchingDiagnostics diagnostics = MatchingDiagnostics.current();
+        if(diagnostics != null){
+            diagnostics.changeWordOrderCalls.increment();
+            diagnostics.tokenPairComparisons.add((long) firstWords.length * secondWords.length);
         }
-        return false;
+
+        return WordAlignment.alignWords(firstWords, secondWords, firstProfiles, secondProfiles);
     }
 
     /**
-     * If in "words" is the same string two times or more, the duplicate strings are deleted.
+     * Calculate the similarity of two strings with the "Jaro Winkler Algorithm".
      *
-     * @param words contains the single words of a string
-     * @return array "words" with every string inside only one times
+     * @param first contains a string
+     * @param second contains another string
+     * @return the similarity value of both strings (value is a float value between 0 and 1 (0 = not similar, 1 = identical))
      */
-    private static String[] deleteDoubleWords(String[] words){
-        for (int i = 0; i < words.length; i++) {
-            String word = words[i];
-
-            for (int j = 0; j < words.length; j++) {
-                if(i != j && words[j].equals(word)){
-                    words = ArrayUtils.remove(words, j);
-                }
-            }
-        }
-
-        return words;
+    static double calculateJaroSimilarity(String first, String second){
+        return jw.similarity(first, second);
     }
 
     /**
-     * Checks if input string contains special characters or big characters.
-     * If string contains special characters, big characters or spaces, the string is split at these positions into its single words.
-     * Additionally unnecessary special characters and spaces get removed.
+     * Calculate the similarity of two strings with the "Normalized Levenshtein Algorithm".
      *
-     * @param string a word, sentence,...
-     * @return the string as array of its single words (but every word only one times)
+     * @param first contains a string
+     * @param second contains another string
+     * @return the similarity value of both strings (value is a float value between 0 and 1 (0 = not similar, 1 = identical))
      */
-    private static String[] makeUniformStringArray(String string){
-        boolean containsBigCharacters = checkForBigCharacters(string);
-        boolean containsSpecialCharacters = checkForSpecialCharacters(string);
-        String[] words = null;
-
-        if(containsSpecialCharacters){
-            words = string.split(RegExLookAheadAllSpecialCharacters);
-
-            for(int i = 0; i < words.length;++i){
-                words[i] = words[i].replaceAll(RegExAllSpecialCharacters, "");
-            }
-        }
-        else if(containsBigCharacters){
-            words = string.split(RegExAllBigCharacters);
-        }
-        else words = string.split(" ");
-
-        for(int i = 0; i < words.length;++i){
-            words[i] = words[i].toLowerCase();
-            words[i] = words[i].replaceAll(" ", "");
-        }
-
-        return deleteDoubleWords(words);
+    static double calculateNormLevenshteinSimilarity(String first, String second){
+        return nl.similarity(first, second);
     }
 
     /**
-     * Fills "smallerString" and "biggerString" with the words of first and second string.
-     * But fills the words into same index, that have highest similarity to each other.
-     * If bigger String has more words, words of it remain.
+     * Calculate the similarity of two strings with the "Jaccard Algorithm".
      *
-     * @param lessWordNumber number of words of the smaller string of first and second string
-     * @param smallerString contains from first and second string, the string with less words in another order
-     * @param biggerString contains from first and second string, the string with more words in another order
-     * @param wordsAlreadyInBiggerString contains all words that are already written in "biggerString"
-     * @param maxHeap contains all combination of words in first and second string with its similarity to each other
+     * @param first contains a string
+     * @param second contains another string
+     * @return the similarity value of both strings (value is a float value between 0 and 1 (0 = not similar, 1 = identical))
      */
-    private static void arrangeWordsBySimilarityPairs(int lessWordNumber, StringBuilder smallerString, StringBuilder biggerString, List<String> wordsAlreadyInBiggerString, PriorityQueue<SimilarityPairs> maxHeap) {
-        List<String> wordsAlreadyInSmallerString = new ArrayList<>();
-
-        while (wordsAlreadyInSmallerString.size() < lessWordNumber){
-            boolean wordAlreadyInString = false;
-
-            SimilarityPairs similarityPair = maxHeap.poll();
-
-            for (String word : wordsAlreadyInSmallerString) {
-                if (word.equals(similarityPair.getFirstString())) {
-                    wordAlreadyInString = true;
-                    break;
-                }
-            }
-            for (String word : wordsAlreadyInBiggerString) {
-                if (word.equals(similarityPair.getSecondString())) {
-                    wordAlreadyInString = true;
-                    break;
-                }
-            }
-
-            if(!wordAlreadyInString){
-                smallerString.append(similarityPair.getFirstString());
-                biggerString.append(similarityPair.getSecondString());
-                wordsAlreadyInSmallerString.add(similarityPair.getFirstString());
-                wordsAlreadyInBiggerString.add(similarityPair.getSecondString());
-            }
-        }
+    static double calculateJaccardSimilarity(String first, String second){
+        return jc.similarity(first, second);
     }
 
     /**
-     * Fills in "biggerString" the remaining words of "ArrayWithMoreWords".
+     * If no Strings is a single words, splits both strings into its single words and save them into Array.
+     * Takes the similarity values of both word arrays from "similarityCache" or calculates them with "compareWords".
      *
-     * @param ArrayWithMoreWords contains from first and second string, the words of the string with more words
-     * @param biggerString contains from first and second string, the string with more words in another order
-     * @param wordsAlreadyInBiggerString contains all words that are already written in "biggerString"
+     * @param first contains a string
+     * @param second contains another string
+     * @return the highest similarity value of these two strings (shared with the cache, must not be changed)
      */
-    private static void fillInLeftWords(String[] ArrayWithMoreWords, StringBuilder biggerString, List<String> wordsAlreadyInBiggerString) {
-        for (String moreWord : ArrayWithMoreWords) {
-            boolean wordFound = false;
+    public static Double[] compareStrings(String first, String second){
+        return compareStrings(first, second, CompSimSelection.all);
+    }
 
-            for (String word : wordsAlreadyInBiggerString) {
-                if (moreWord.equals(word)) {
-                    wordFound = true;
-                    break;
-                }
-            }
+    /**
+     * Like {@link #compareStrings(String, String)}, but only the values of "methods" need to be calculated.
+     * Both strings are taken as {@link PreparedProperty} from "preparedProperties".
+     *
+     * @param first contains a string
+     * @param second contains another string
+     * @param methods contains the compositional methods that are needed
+     * @return the highest similarity values of these two strings (at least for "methods", the others can be null)
+     */
+    static Double[] compareStrings(String first, String second, CompSimSelection methods){
+        return compareStrings(preparedProperties.get(first), preparedProperties.get(second), methods);
+    }
 
-            if (!wordFound) {
-                biggerString.append(moreWord);
-            }
+    /**
+     * Takes the similarity values of the words of both prepared names from "similarityCache" or calculates them with the profiles of their words.
+     * If "methods" need none of the base algorithms (only "weighted"), the names are not compared.
+     *
+     * @param first contains a prepared name
+     * @param second contains another prepared name
+     * @param methods contains the compositional methods that are needed
+     * @return the highest similarity values of these two names (at least for "methods", the others can be null)
+     */
+    static Double[] compareStrings(PreparedProperty first, PreparedProperty second, CompSimSelection methods){
+        if(methods.getBaseMetrics() == 0){
+            return compareWithoutBaseMetrics();
         }
+        return similarityCache.get(first.getWords(), second.getWords(), methods, (firstWords, secondWords, baseMetrics) -> compareWords(first, second, baseMetrics));
     }
 
     /**
-     * Calculates best order of the words in first and second string to each other.
-     * (best order means, for highest possible similarity value)
-     *
-     * Sort both input word arrays by number of words.
-     * Calculates similarity between every word of both strings and save them as pairs in "maxHeap".
-     * Change with "arrangeWordsBySimilarityPairs" the order of the words in first and second string.
-     * Fill with "fillInLeftWords" the left words of the bigger string into the new bigger string.
+     * Creates best order of both word arrays equivalent to each other (best order means, for highest possible similarity value).
+     * Calculates similarity values of both ordered strings with the different compositional methods.
+     * All three algorithms are calculated together by "SimilarityKernel".
      *
      * @param firstWords contain the words that make up the first String
      * @param secondWords contain the words that make up the second String
-     * @return first and second string in another word order, for better similarity calculation
+     * @return the highest similarity value of these two strings
      */
-    private static Entry<String, String> changeWordOrder(String[] firstWords, String[] secondWords){
-        String[] ArrayWithMoreWords, ArrayWithLessWords;
-        StringBuilder smallerString  = new StringBuilder();
-        StringBuilder biggerString = new StringBuilder();
-        List<String> wordsAlreadyInBiggerString = new ArrayList<>();
-        PriorityQueue<SimilarityPairs> maxHeap = new PriorityQueue<>(Collections.reverseOrder());
-
-        if(firstWords.length > secondWords.length){
-            ArrayWithMoreWords = firstWords;
-            ArrayWithLessWords = secondWords;
-        }
-        else{
-            ArrayWithMoreWords = secondWords;
-            ArrayWithLessWords = firstWords;
-        }
-
-        for (String lessWord : ArrayWithLessWords) {
-            for (String moreWord : ArrayWithMoreWords) {
-                double averageSimilarity = (calculateJaroSimilarity(lessWord, moreWord)+
-                        calculateJaccardSimilarity(lessWord, moreWord)+calculateNormLevenshteinSimilarity(lessWord, moreWord)) / 3;
-
-                maxHeap.add(new SimilarityPairs(lessWord, moreWord, averageSimilarity));
-            }
-        }
-
-        arrangeWordsBySimilarityPairs(ArrayWithLessWords.length, smallerString, biggerString, wordsAlreadyInBiggerString, maxHeap);
-
-        if(ArrayWithLessWords.length != ArrayWithMoreWords.length) {
-            fillInLeftWords(ArrayWithMoreWords, biggerString, wordsAlreadyInBiggerString);
-        }
-
-        return(new Entry<>(smallerString.toString(), biggerString.toString()));
+    static Double[] compareWords(String[] firstWords, String[] secondWords){
+        return compareWords(firstWords, secondWords, CompSimEnum.allBaseMetrics);
     }
 
     /**
-     * Calculate the similarity of two strings with the "Jaro Winkler Algorithm".
+     * Like {@link #compareWords(String[], String[])}, but calculates for the ordered strings only the algorithms in "baseMetrics".
+     * The values of the methods that need other algorithms stay null.
      *
-     * @param first contains a string
-     * @param second contains another string
-     * @return the similarity value of both strings (value is a float value between 0 and 1 (0 = not similar, 1 = identical))
+     * @param firstWords contain the words that make up the first String
+     * @param secondWords contain the words that make up the second String
+     * @param baseMetrics contains the algorithms to calculate, as bits of their indices (see {@link CompSimEnum})
+     * @return the highest similarity value of these two strings
      */
-    private static double calculateJaroSimilarity(String first, String second){
-        return jw.similarity(first, second);
+    static Double[] compareWords(String[] firstWords, String[] secondWords, int baseMetrics){
+        if(baseMetrics == 0){
+            return compareWithoutBaseMetrics();
+        }
+        return compareOrderedStrings(changeWordOrder(firstWords, secondWords), baseMetrics);
     }
 
     /**
-     * Calculate the similarity of two strings with the "Normalized Levenshtein Algorithm".
+     * Like {@link #compareWords(String[], String[], int)}, but the word pairs are compared with the profiles of the prepared names.
      *
-     * @param first contains a string
-     * @param second contains another string
-     * @return the similarity value of both strings (value is a float value between 0 and 1 (0 = not similar, 1 = identical))
+     * @param first contains a prepared name
+     * @param second contains another prepared name
+     * @param baseMetrics contains the algorithms to calculate, as bits of their indices (see {@link CompSimEnum})
+     * @return the highest similarity value of these two names
      */
-    private static double calculateNormLevenshteinSimilarity(String first, String second){
-        return nl.similarity(first, second);
+    static Double[] compareWords(PreparedProperty first, PreparedProperty second, int baseMetrics){
+        if(baseMetrics == 0){
+            return compareWithoutBaseMetrics();
+        }
+        return compareOrderedStrings(changeWordOrder(first.getWords(), second.getWords(), first.getWordProfiles(), second.getWordProfiles()), baseMetrics);
     }
 
     /**
-     * Calculate the similarity of two strings with the "Jaccard Algorithm".
+     * Returns the similarity values of the compositional methods that need none of the base algorithms,
+     * without ordering and comparing the strings ("weighted" is always 0.0).
      *
-     * @param first contains a string
-     * @param second contains another string
-     * @return the similarity value of both strings (value is a float value between 0 and 1 (0 = not similar, 1 = identical))
+     * @return the similarity values (null for the methods that need a base algorithm)
      */
-    private static double calculateJaccardSimilarity(String first, String second){
-        return jc.similarity(first, second);
+    private static Double[] compareWithoutBaseMetrics(){
+        Double[] compositionalSimilarities = new Double[compositionalMethods.length];
+        compositionalSimilarities[CompSimEnum.weighted.index] = 0.0;
+
+        return compositionalSimilarities;
     }
 
     /**
-     * If no Strings is a single words, splits both strings into its single words and save them into Array.
-     * Creates best order of both equivalent to each other (best order means, for highest possible similarity value).
-     * Calculates similarity values of both ordered strings with the different compositional methods.
+     * Calculates similarity values of both ordered strings with the different compositional methods, only for the algorithms in "baseMetrics".
      *
-     * @param first contains a string
-     * @param second contains another string
-     * @return the highest similarity value of these two strings
+     * @param orderedStrings contains both strings in the word order of "changeWordOrder"
+     * @param baseMetrics contains the algorithms to calculate, as bits of their indices (see {@link CompSimEnum})
+     * @return the similarity value of every compositional method (null for the methods that need other algorithms)
      */
-    public static Double[] compareStrings(String first, String second){
+    private static Double[] compareOrderedStrings(Entry<String, String> orderedStrings, int baseMetrics){
         final int numAlgorithms = 3;
 
-        String[] firstWords = makeUniformStringArray(first);
-        String[] secondWords = makeUniformStringArray(second);
         Double[] compositionalSimilarities = new Double[CompSimEnum.values().length];
-        double[] similarities = new double[3];
 
-        Entry<String, String> orderedStrings = changeWordOrder(firstWords, secondWords);
+        double[] similarities = similarityBuffer.get();
+        SimilarityKernel.calculateSimilarities(orderedStrings.getKey(), orderedStrings.getValue(), similarities, baseMetrics);
 
-        similarities[0] = calculateJaroSimilarity(orderedStrings.getKey(), orderedStrings.getValue());
-        similarities[1] = calculateJaccardSimilarity(orderedStrings.getKey(), orderedStrings.getValue());
-        similarities[2] = calculateNormLevenshteinSimilarity(orderedStrings.getKey(), orderedStrings.getValue());
+        for(CompSimEnum method : compositionalMethods){
+            if((baseMetrics & method.baseMetrics) != method.baseMetrics){
+                continue;
+            }
 
-        compositionalSimilarities[CompSimEnum.jaroWinkler.index] = similarities[0];
-        compositionalSimilarities[CompSimEnum.jaccard.index] = similarities[1];
-        compositionalSimilarities[CompSimEnum.normLevenshtein.index] = similarities[2];
-        compositionalSimilarities[CompSimEnum.min.index] = NumberUtils.min(similarities);
-        compositionalSimilarities[CompSimEnum.max.index] = NumberUtils.max(similarities);
-        compositionalSimilarities[CompSimEnum.average.index] = (similarities[0]+similarities[1]+similarities[2]) / numAlgorithms;
-        //not yet realized
-        compositionalSimilarities[CompSimEnum.weighted.index] = 0.0;
+            switch (method){
+                case jaroWinkler: case jaccard: case normLevenshtein:
+                    compositionalSimilarities[method.index] = similarities[method.index];
+                    break;
+                case min:
+                    compositionalSimilarities[method.index] = NumberUtils.min(similarities);
+                    break;
+                case max:
+                    compositionalSimilarities[method.index] = NumberUtils.max(similarities);
+                    break;
+                case average:
+                    compositionalSimilarities[method.index] = (similarities[0]+similarities[1]+similarities[2]) / numAlgorithms;
+                    break;
+                default:
+                    //"weighted" is not yet realized
+                    compositionalSimilarities[method.index] = 0.0;
+            }
+        }
 
         return compositionalSimilarities;
     }
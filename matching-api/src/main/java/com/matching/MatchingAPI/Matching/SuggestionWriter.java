@@ -0,0 +1,224 @@
+package com.matching.MatchingAPI.Matching;
+
+import com.matching.MatchingAPI.ComparableEntry;
+
+import com.google.gson.JsonElement;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Writes the matching suggestions of all compositional methods as json directly to a stream,
+ * without building a json tree and one string of the whole output.
+ *
+ * The json is the same as the one of the Gson "JsonObject" that was built before:
+ * - every compositional method is a key of the outer object, with the output properties and their suggestions as object
+ *   (methods without list of matching suggestions are left out)
+ * - an output property with exactly one suggestion gets it as string, else an array of all its suggestions
+ * - a suggestion is "name|value" (or only "noSimilarity"), the value is written like "Double.toString"
+ * - output properties with equal names are written at the position of the first one with the suggestions of the last one
+ * - strings are escaped like Gson does it
+ * With diagnostics (see {@link MatchingDiagnostics}), they are written as last key "diagnostics" of the outer object.
+ */
+class SuggestionWriter {
+    //replacement of the characters below 128 that need to be escaped in json strings (null, if the character stays)
+    private final static String[] replacementCharacters = new String[128];
+    final static String diagnosticsIdentifier = "diagnostics";
+
+    static {
+        for (int i = 0; i < 0x20; i++) {
+            replacementCharacters[i] = String.format("\\u%04x", i);
+        }
+        replacementCharacters['"'] = "\\\"";
+        replacementCharacters['\\'] = "\\\\";
+        replacementCharacters['\t'] = "\\t";
+        replacementCharacters['\b'] = "\\b";
+        replacementCharacters['\n'] = "\\n";
+        replacementCharacters['\r'] = "\\r";
+        replacementCharacters['\f'] = "\\f";
+    }
+
+    /**
+     * Writes the matching suggestions of every compositional method to "writer".
+     * "writer" is flushed after every compositional method.
+     *
+     * @param outputObjectPropertyList list of properties of the output object
+     * @param matchingSuggestionList lists of matching suggestions for every compositional method (null for methods that are left out)
+     * @param writer receives the json
+     * @throws IOException if "writer" can not be written
+     */
+    static void writeAllOutputs(List<MatchingProperty> outputObjectPropertyList, List<ComparableEntry<String, Double>[]>[] matchingSuggestionList, Writer writer) throws IOException {
+        writeAllOutputs(outputObjectPropertyList, matchingSuggestionList, null, writer);
+    }
+
+    /**
+     * Writes the matching suggestions of every compositional method to "writer", followed by the "diagnostics" of the request.
+     * "diagnostics" is called after all matching suggestions are written.
+     *
+     * @param outputObjectPropertyList list of properties of the output object
+     * @param matchingSuggestionList lists of matching suggestions for every compositional method (null for methods that are left out)
+     * @param diagnostics creates the diagnostics of the request (null, if none are written)
+     * @param writer receives the json
+     * @throws IOException if "writer" can not be written
+     */
+    static void writeAllOutputs(List<MatchingProperty> outputObjectPropertyList, List<ComparableEntry<String, Double>[]>[] matchingSuggestionList,
+                                Supplier<JsonElement> diagnostics, Writer writer) throws IOException {
+        int[] suggestionIndices = findSuggestionIndices(outputObjectPropertyList);
+        StringBuilder buffer = new StringBuilder();
+
+        boolean firstMethod = true;
+
+        writer.write('{');
+        for (int i = 0; i < matchingSuggestionList.length; i++) {
+            if(matchingSuggestionList[i] == null){
+                continue;
+            }
+            if(!firstMethod){
+                buffer.append(',');
+            }
+            firstMethod = false;
+
+            appendString(buffer, CompSimEnum.values()[i].toString());
+            buffer.append(":{");
+
+            boolean firstProperty = true;
+            for (int j = 0; j < outputObjectPropertyList.size(); j++) {
+                if(suggestionIndices[j] < 0){
+                    continue;
+                }
+                if(!firstProperty){
+                    buffer.append(',');
+                }
+                firstProperty = false;
+
+                appendString(buffer, outputObjectPropertyList.get(j).getName());
+                buffer.append(':');
+                appendSuggestions(buffer, matchingSuggestionList[i].get(suggestionIndices[j]));
+
+                writer.append(buffer);
+                buffer.setLength(0);
+            }
+
+            buffer.append('}');
+            writer.append(buffer);
+            buffer.setLength(0);
+            writer.flush();
+        }
+
+        if(diagnostics != null){
+            if(!firstMethod){
+                buffer.append(',');
+            }
+            appendString(buffer, diagnosticsIdentifier);
+            buffer.append(':').append(diagnostics.get().toString());
+            writer.append(buffer);
+        }
+        writer.write('}');
+        writer.flush();
+    }
+
+    /**
+     * Finds for every output property the index of the suggestions to write at its position.
+     * That is the last output property with the same name for the first one with this name and -1 for the others.
+     *
+     * @param outputObjectPropertyList list of properties of the output object
+     * @return "suggestionIndices"
+     */
+    private static int[] findSuggestionIndices(List<MatchingProperty> outputObjectPropertyList){
+        int[] suggestionIndices = new int[outputObjectPropertyList.size()];
+        Map<String, Integer> firstIndexByName = new HashMap<>();
+
+        for (int i = 0; i < suggestionIndices.length; i++) {
+            Integer firstIndex = firstIndexByName.putIfAbsent(outputObjectPropertyList.get(i).getName(), i);
+
+            if(firstIndex == null){
+                suggestionIndices[i] = i;
+            }
+            else {
+                suggestionIndices[firstIndex] = i;
+                suggestionIndices[i] = -1;
+            }
+        }
+        return suggestionIndices;
+    }
+
+    /**
+     * Appends the not empty suggestions of an output property, only the suggestion if there is exactly one, else as array.
+     *
+     * @param buffer receives the json
+     * @param suggestions contains the matching suggestions of the output property (empty places are null)
+     */
+    private static void appendSuggestions(StringBuilder buffer, ComparableEntry<String, Double>[] suggestions){
+        int suggestionCount = 0;
+
+        for (ComparableEntry<String, Double> suggestion : suggestions){
+            if(suggestion != null){
+                suggestionCount++;
+            }
+        }
+
+        if(suggestionCount != 1){
+            buffer.append('[');
+        }
+
+        boolean firstSuggestion = true;
+        for (ComparableEntry<String, Double> suggestion : suggestions){
+            if(suggestion != null){
+                if(!firstSuggestion){
+                    buffer.append(',');
+                }
+                firstSuggestion = false;
+
+                buffer.append('"');
+                appendEscaped(buffer, suggestion.getKey());
+                if(!suggestion.getKey().equals(MatchingService.noSimilarity)){
+                    buffer.append('|').append((double) suggestion.getValue());
+                }
+                buffer.append('"');
+            }
+        }
+
+        if(suggestionCount != 1){
+            buffer.append(']');
+        }
+    }
+
+    /**
+     * Appends "string" in quotation marks and escaped as json string.
+     *
+     * @param buffer receives the json
+     * @param string contains the string to append
+     */
+    private static void appendString(StringBuilder buffer, String string){
+        buffer.append('"');
+        appendEscaped(buffer, string);
+        buffer.append('"');
+    }
+
+    /**
+     * Appends the characters of "string" escaped like the Gson "JsonWriter" (without html escaping).
+     *
+     * @param buffer receives the json
+     * @param string contains the string to append
+     */
+    private static void appendEscaped(StringBuilder buffer, String string){
+        for (int i = 0; i < string.length(); i++) {
+            char character = string.charAt(i);
+
+            if(character < 128 && replacementCharacters[character] != null){
+                buffer.append(replacementCharacters[character]);
+            }
+            else if(character == '\u2028'){
+                buffer.append("\\u2028");
+            }
+            else if(character == '\u2029'){
+                buffer.append("\\u2029");
+            }
+            else {
+                buffer.append(character);
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.matching.MatchingAPI.Matching;
+
+/**
+ * Keeps the "capacity" input properties with the highest similarity values to one output property, for one compositional method.
+ * The input properties are saved as index in the list of compared input properties, with their similarity value in a parallel array,
+ * so that adding a candidate allocates nothing.
+ *
+ * The entries are a binary min heap that is added to and polled in the same way as the former "PriorityQueue" of "ComparableEntry"
+ * (add and remove the lowest, if there are more than "capacity"), so that entries with equal values come in the same order as before.
+ * Every thread reuses its selectors for all output properties (see {@link #forMethods}).
+ */
+class TopKSelector {
+    //stands for a pruned candidate, it is added with a value lower than every similarity value and removed again directly
+    final static int prunedCandidate = -1;
+
+    private final static ThreadLocal<TopKSelector[][]> threadSelectors = ThreadLocal.withInitial(() -> new TopKSelector[2][]);
+
+    private final int capacity;
+    private final double[] values;
+    private final int[] indexes;
+    private int size;
+
+    /**
+     * @param capacity contains the number of entries to keep (the "suggestionSize")
+     */
+    TopKSelector(int capacity){
+        this.capacity = capacity;
+        this.values = new double[capacity + 1];
+        this.indexes = new int[capacity + 1];
+    }
+
+    /**
+     * Gets the empty selectors of the current thread for the compositional methods of "methods".
+     * The selectors are only valid until the next call in the same thread.
+     *
+     * @param methods contains the compositional methods of the request
+     * @param capacity contains the number of entries to keep
+     * @return a selector for every compositional method (null for the methods that are not in "methods")
+     */
+    static TopKSelector[] forMethods(CompSimSelection methods, int capacity){
+        TopKSelector[][] buffers = threadSelectors.get();
+        int methodNumber = CompSimEnum.values().length;
+
+        if(buffers[0] == null || buffers[0][0].capacity != capacity){
+            buffers[0] = new TopKSelector[methodNumber];
+            buffers[1] = new TopKSelector[methodNumber];
+            for (int i = 0; i < methodNumber; i++) {
+                buffers[0][i] = new TopKSelector(capacity);
+            }
+        }
+
+        TopKSelector[] selectors = buffers[1];
+        for (int i = 0; i < methodNumber; i++) {
+            if(methods.isSelected(i)){
+                buffers[0][i].size = 0;
+                selectors[i] = buffers[0][i];
+            }
+            else {
+                selectors[i] = null;
+            }
+        }
+        return selectors;
+    }
+
+    int size(){
+        return size;
+    }
+
+    boolean isEmpty(){
+        return size == 0;
+    }
+
+    /**
+     * @return the lowest similarity value (the selector must not be empty)
+     */
+    double lowestValue(){
+        return values[0];
+    }
+
+    /**
+     * @return the index of the input property with the lowest similarity value (the selector must not be empty)
+     */
+    int lowestIndex(){
+        return indexes[0];
+    }
+
+    /**
+     * Adds an input property and removes the one with the lowest value, if there are more than "capacity" now.
+     *
+     * @param index contains the index of the input property ("prunedCandidate" for a pruned one)
+     * @param value contains the similarity value of the input property
+     */
+    void add(int index, double value){
+        int k = size++;
+
+        while (k > 0) {
+            int parent = (k - 1) >>> 1;
+            if(Double.compare(value, values[parent]) >= 0){
+                break;
+            }
+            values[k] = values[parent];
+            indexes[k] = indexes[parent];
+            k = parent;
+        }
+        values[k] = value;
+        indexes[k] = index;
+
+        if(size > capacity){
+            removeLowest();
+        }
+    }
+
+    /**
+     * Removes the input property with the lowest value (the selector must not be empty).
+     */
+    void removeLowest(){
+        int n = --size;
+        double value = values[n];
+        int index = indexes[n];
+
+        if(n > 0){
+            int k = 0, half = n >>> 1;
+
+            while (k < half) {
+                int child = 2 * k + 1, right = child + 1;
+                if(right < n && Double.compare(values[child], values[right]) > 0){
+                    child = right;
+                }
+                if(Double.compare(value, values[child]) <= 0){
+                    break;
+                }
+                values[k] = values[child];
+                indexes[k] = indexes[child];
+                k = child;
+            }
+            values[k] = value;
+            indexes[k] = index;
+        }
+    }
+}
@@ -0,0 +1,395 @@
+package com.matching.MatchingAPI.Matching;
+
+import com.matching.MatchingAPI.Entry;
+import com.matching.MatchingAPI.Settings;
+
+import java.util.Arrays;
+
+/**
+ * Aligns the words of two word arrays, so that words with highest similarity to each other get the same position.
+ * The average similarity of every word pair is saved in a matrix, the pairs are then assigned
+ * - "greedy": highest similarity first, in exactly the order of the former "PriorityQueue" of "SimilarityPairs"
+ * - "hungarian": with the highest possible sum of similarities (Hungarian algorithm)
+ */
+class WordAlignment {
+    final static String hungarian = "hungarian";
+    static boolean optimalAssignment = hungarian.equalsIgnoreCase(Settings.getInstance().getWordAlignment());
+
+    private final static ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+
+    /**
+     * Reusable buffers of one thread.
+     */
+    private static class Scratch {
+        double[] similarities = new double[3];
+        double[] scores = new double[64];
+        int[] heap = new int[64];
+        int[] lessCanonical = new int[16], moreCanonical = new int[16], assignment = new int[16];
+        boolean[] lessPlaced = new boolean[16], morePlaced = new boolean[16];
+        double[] rowPotential = new double[17], columnPotential = new double[17], minSlack = new double[17];
+        int[] columnRow = new int[17], way = new int[17];
+        boolean[] columnUsed = new boolean[17];
+
+        /**
+         * Enlarges the buffers, if they are too small for the given numbers of words.
+         *
+         * @param lessWordNumber number of words of the smaller word array
+         * @param moreWordNumber number of words of the bigger word array
+         */
+        void ensureCapacity(int lessWordNumber, int moreWordNumber){
+            int pairNumber = lessWordNumber * moreWordNumber;
+
+            if(scores.length < pairNumber){
+                scores = new double[Math.max(pairNumber, scores.length * 2)];
+                heap = new int[scores.length];
+            }
+            if(lessCanonical.length < moreWordNumber){
+                int capacity = Math.max(moreWordNumber, lessCanonical.length * 2);
+
+                lessCanonical = new int[capacity];
+                moreCanonical = new int[capacity];
+                assignment = new int[capacity];
+                lessPlaced = new boolean[capacity];
+                morePlaced = new boolean[capacity];
+                rowPotential = new double[capacity + 1];
+                columnPotential = new double[capacity + 1];
+                minSlack = new double[capacity + 1];
+                columnRow = new int[capacity + 1];
+                way = new int[capacity + 1];
+                columnUsed = new boolean[capacity + 1];
+            }
+        }
+    }
+
+    /**
+     * Calculates the order of the words in first and second word array for highest possible similarity value.
+     * The words of the array with less words are written in order of assignment,
+     * the words of the other array are written into the same positions, its left words are appended.
+     *
+     * @param firstWords contain the words that make up the first String
+     * @param secondWords contain the words that make up the second String
+     * @return the string of the smaller and the string of the bigger word array in the new word order
+     */
+    static Entry<String, String> alignWords(String[] firstWords, String[] secondWords){
+        return alignWords(firstWords, secondWords, null, null);
+    }
+
+    /**
+     * Like {@link #alignWords(String[], String[])}, but the similarity of the word pairs is calculated with the {@link SimilarityKernel.Profile} of the words.
+     *
+     * @param firstWords contain the words that make up the first String
+     * @param secondWords contain the words that make up the second String
+     * @param firstProfiles contains the profile of every word of "firstWords" (null, if the words are not prepared)
+     * @param secondProfiles contains the profile of every word of "secondWords" (null, if the words are not prepared)
+     * @return the string of the smaller and the string of the bigger word array in the new word order
+     */
+    static Entry<String, String> alignWords(String[] firstWords, String[] secondWords, SimilarityKernel.Profile[] firstProfiles, SimilarityKernel.Profile[] secondProfiles){
+        String[] moreWords, lessWords;
+        SimilarityKernel.Profile[] moreProfiles, lessProfiles;
+
+        if(firstWords.length > secondWords.length){
+            moreWords = firstWords;
+            lessWords = secondWords;
+            moreProfiles = firstProfiles;
+            lessProfiles = secondProfiles;
+        }
+        else {
+            moreWords = secondWords;
+            lessWords = firstWords;
+            moreProfiles = secondProfiles;
+            lessProfiles = firstProfiles;
+        }
+
+        Scratch buffers = scratch.get();
+        int lessWordNumber = lessWords.length;
+        int moreWordNumber = moreWords.length;
+
+        buffers.ensureCapacity(lessWordNumber, moreWordNumber);
+        fillScores(lessWords, moreWords, lessProfiles, moreProfiles, buffers);
+        findCanonicalWords(lessWords, buffers.lessCanonical);
+        findCanonicalWords(moreWords, buffers.moreCanonical);
+        Arrays.fill(buffers.lessPlaced, 0, lessWordNumber, false);
+        Arrays.fill(buffers.morePlaced, 0, moreWordNumber, false);
+
+        StringBuilder smallerString = new StringBuilder();
+        StringBuilder biggerString = new StringBuilder();
+
+        if(optimalAssignment){
+            assignOptimal(lessWords, moreWords, buffers, smallerString, biggerString);
+        }
+        else {
+            assignGreedy(lessWords, moreWords, buffers, smallerString, biggerString);
+        }
+
+        if(lessWordNumber != moreWordNumber){
+            for (int j = 0; j < moreWordNumber; j++) {
+                if(!buffers.morePlaced[buffers.moreCanonical[j]]){
+                    biggerString.append(moreWords[j]);
+                }
+            }
+        }
+
+        return new Entry<>(smallerString.toString(), biggerString.toString());
+    }
+
+    /**
+     * Saves the average similarity of every word pair into "scores" (row = smaller array, column = bigger array).
+     * With the profiles of both word arrays, the similarities are calculated from the profiles.
+     *
+     * @param lessWords words of the smaller word array
+     * @param moreWords words of the bigger word array
+     * @param lessProfiles profiles of the words of the smaller word array (or null)
+     * @param moreProfiles profiles of the words of the bigger word array (or null)
+     * @param buffers buffers of the current thread
+     */
+    private static void fillScores(String[] lessWords, String[] moreWords, SimilarityKernel.Profile[] lessProfiles, SimilarityKernel.Profile[] moreProfiles, Scratch buffers){
+        int moreWordNumber = moreWords.length;
+
+        for (int i = 0; i < lessWords.length; i++) {
+            for (int j = 0; j < moreWordNumber; j++) {
+                buffers.scores[i * moreWordNumber + j] = lessProfiles != null && moreProfiles != null
+                        ? SimilarityKernel.calculateAverageSimilarity(lessProfiles[i], moreProfiles[j], buffers.similarities)
+                        : SimilarityKernel.calculateAverageSimilarity(lessWords[i], moreWords[j], buffers.similarities);
+            }
+        }
+    }
+
+    /**
+     * Saves for every word the index of its first occurrence, so that equal words count as the same word.
+     *
+     * @param words contains words
+     * @param canonical receives the index of the first equal word
+     */
+    private static void findCanonicalWords(String[] words, int[] canonical){
+        for (int i = 0; i < words.length; i++) {
+            canonical[i] = i;
+
+            for (int j = 0; j < i; j++) {
+                if(words[j].equals(words[i])){
+                    canonical[i] = j;
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Places a word pair into both strings, if none of both words is already placed.
+     *
+     * @param lessWords words of the smaller word array
+     * @param moreWords words of the bigger word array
+     * @param lessIndex index of the word in the smaller word array
+     * @param moreIndex index of the word in the bigger word array
+     * @param buffers buffers of the current thread
+     * @param smallerString receives the word of the smaller word array
+     * @param biggerString receives the word of the bigger word array
+     * @return true, if the pair was placed
+     */
+    private static boolean placePair(String[] lessWords, String[] moreWords, int lessIndex, int moreIndex, Scratch buffers, StringBuilder smallerString, StringBuilder biggerString){
+        int lessWord = buffers.lessCanonical[lessIndex];
+        int moreWord = buffers.moreCanonical[moreIndex];
+
+        if(buffers.lessPlaced[lessWord] || buffers.morePlaced[moreWord]){
+            return false;
+        }
+
+        smallerString.append(lessWords[lessIndex]);
+        biggerString.append(moreWords[moreIndex]);
+        buffers.lessPlaced[lessWord] = true;
+        buffers.morePlaced[moreWord] = true;
+        return true;
+    }
+
+    /**
+     * Assigns the word pairs with highest similarity first.
+     * The pairs are taken from a binary heap over the matrix indices, that is built and polled in the same way as
+     * a "PriorityQueue" in reverse order, so that pairs with equal similarity come in the same order as before.
+     *
+     * @param lessWords words of the smaller word array
+     * @param moreWords words of the bigger word array
+     * @param buffers buffers of the current thread
+     * @param smallerString receives the words of the smaller word array
+     * @param biggerString receives the assigned words of the bigger word array
+     */
+    private static void assignGreedy(String[] lessWords, String[] moreWords, Scratch buffers, StringBuilder smallerString, StringBuilder biggerString){
+        double[] scores = buffers.scores;
+        int[] heap = buffers.heap;
+        int size = 0;
+
+        for (int pair = 0, pairNumber = lessWords.length * moreWords.length; pair < pairNumber; pair++) {
+            int k = size++;
+
+            while (k > 0) {
+                int parent = (k - 1) >>> 1;
+                if(Double.compare(scores[heap[parent]], scores[pair]) >= 0){
+                    break;
+                }
+                heap[k] = heap[parent];
+                k = parent;
+            }
+            heap[k] = pair;
+        }
+
+        int placed = 0;
+        //the former queue ran empty, if equal words made the smaller array unable to fill
+        while (placed < lessWords.length && size > 0) {
+            int pair = heap[0];
+            int last = heap[--size];
+
+            if(size > 0){
+                int k = 0, half = size >>> 1;
+
+                while (k < half) {
+                    int child = 2 * k + 1, right = child + 1;
+                    if(right < size && Double.compare(scores[heap[right]], scores[heap[child]]) > 0){
+                        child = right;
+                    }
+                    if(Double.compare(scores[heap[child]], scores[last]) <= 0){
+                        break;
+                    }
+                    heap[k] = heap[child];
+                    k = child;
+                }
+                heap[k] = last;
+            }
+
+            if(placePair(lessWords, moreWords, pair / moreWords.length, pair % moreWords.length, buffers, smallerString, biggerString)){
+                placed++;
+            }
+        }
+    }
+
+    /**
+     * Assigns every word of the smaller word array to a word of the bigger one, so that the sum of similarities is maximal.
+     * Uses the Hungarian algorithm on the costs "1 - similarity" (NaN similarity counts as 0).
+     * The pairs are placed in order of decreasing similarity.
+     *
+     * @param lessWords words of the smaller word array
+     * @param moreWords words of the bigger word array
+     * @param buffers buffers of the current thread
+     * @param smallerString receives the words of the smaller word array
+     * @param biggerString receives the assigned words of the bigger word array
+     */
+    private static void assignOptimal(String[] lessWords, String[] moreWords, Scratch buffers, StringBuilder smallerString, StringBuilder biggerString){
+        int rows = lessWords.length, columns = moreWords.length;
+        int[] assignment = buffers.assignment;
+
+        solveAssignment(rows, columns, buffers);
+
+        for (int placed = 0; placed < rows; placed++) {
+            int best = -1;
+            double bestScore = Double.NEGATIVE_INFINITY;
+
+            for (int row = 0; row < rows; row++) {
+                if(!buffers.lessPlaced[buffers.lessCanonical[row]]){
+                    double score = 1 - cost(buffers.scores[row * columns + assignment[row]]);
+                    if(best == -1 || score > bestScore){
+                        best = row;
+                        bestScore = score;
+                    }
+                }
+            }
+            if(best == -1){
+                break;
+            }
+            if(!placePair(lessWords, moreWords, best, assignment[best], buffers, smallerString, biggerString)){
+                buffers.lessPlaced[buffers.lessCanonical[best]] = true;
+            }
+        }
+    }
+
+    /**
+     * Calculates the optimal assignment of the words of both word arrays (rows of "scores" to columns),
+     * for test purposes.
+     *
+     * @param lessWords words of the smaller word array
+     * @param moreWords words of the bigger word array
+     * @return for every word of the smaller word array the index of its word in the bigger word array
+     */
+    static int[] findOptimalAssignment(String[] lessWords, String[] moreWords){
+        Scratch buffers = scratch.get();
+
+        buffers.ensureCapacity(lessWords.length, moreWords.length);
+        fillScores(lessWords, moreWords, null, null, buffers);
+        solveAssignment(lessWords.length, moreWords.length, buffers);
+
+        return Arrays.copyOf(buffers.assignment, lessWords.length);
+    }
+
+    /**
+     * Hungarian algorithm with row and column potentials, saves the assigned column of every row into "assignment".
+     *
+     * @param rows number of rows (words of the smaller word array)
+     * @param columns number of columns (words of the bigger word array, not less than rows)
+     * @param buffers buffers of the current thread, with the similarities in "scores"
+     */
+    private static void solveAssignment(int rows, int columns, Scratch buffers){
+        double[] u = buffers.rowPotential, v = buffers.columnPotential, minSlack = buffers.minSlack;
+        int[] columnRow = buffers.columnRow, way = buffers.way;
+        boolean[] used = buffers.columnUsed;
+
+        Arrays.fill(u, 0, rows + 1, 0);
+        Arrays.fill(v, 0, columns + 1, 0);
+        Arrays.fill(columnRow, 0, columns + 1, 0);
+
+        for (int row = 1; row <= rows; row++) {
+            columnRow[0] = row;
+            int column = 0;
+            Arrays.fill(minSlack, 0, columns + 1, Double.POSITIVE_INFINITY);
+            Arrays.fill(used, 0, columns + 1, false);
+
+            do {
+                used[column] = true;
+                int currentRow = columnRow[column], nextColumn = 0;
+                double delta = Double.POSITIVE_INFINITY;
+
+                for (int j = 1; j <= columns; j++) {
+                    if(!used[j]){
+                        double slack = cost(buffers.scores[(currentRow - 1) * columns + j - 1]) - u[currentRow] - v[j];
+
+                        if(slack < minSlack[j]){
+                            minSlack[j] = slack;
+                            way[j] = column;
+                        }
+                        if(minSlack[j] < delta){
+                            delta = minSlack[j];
+                            nextColumn = j;
+                        }
+                    }
+                }
+                for (int j = 0; j <= columns; j++) {
+                    if(used[j]){
+                        u[columnRow[j]] += delta;
+                        v[j] -= delta;
+                    }
+                    else {
+                        minSlack[j] -= delta;
+                    }
+                }
+                column = nextColumn;
+            } while (columnRow[column] != 0);
+
+            do {
+                int previousColumn = way[column];
+                columnRow[column] = columnRow[previousColumn];
+                column = previousColumn;
+            } while (column != 0);
+        }
+
+        for (int j = 1; j <= columns; j++) {
+            if(columnRow[j] != 0){
+                buffers.assignment[columnRow[j] - 1] = j - 1;
+            }
+        }
+    }
+
+    /**
+     * Converts a similarity value into assignment costs.
+     *
+     * @param similarity contains a similarity value between 0 and 1 or NaN
+     * @return costs between 0 and 1
+     */
+    private static double cost(double similarity){
+        return Double.isNaN(similarity) ? 1 : 1 - similarity;
+    }
+}
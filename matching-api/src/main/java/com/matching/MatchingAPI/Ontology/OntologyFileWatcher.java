@@ -0,0 +1,100 @@
+package com.matching.MatchingAPI.Ontology;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches the directories of the ontology files and calls "onChange", after one of the files was created or changed.
+ * Changes that follow each other within "quietMillis" (like an editor that writes a file in several steps) call "onChange" only once.
+ * Ontologies that are no local files (like an URL) are not watched.
+ */
+public class OntologyFileWatcher {
+    final static long quietMillis = 500;
+
+    private final WatchService watchService;
+    private final Map<Path, Set<Path>> fileNamesByDirectory = new HashMap<>();
+    private final Runnable onChange;
+
+    /**
+     * Registers the directories of all "ontologies" that are local files.
+     *
+     * @param ontologies contains the paths of the ontologies
+     * @param onChange is called after an ontology changed
+     * @throws IOException if a directory can not be watched
+     */
+    public OntologyFileWatcher(List<String> ontologies, Runnable onChange) throws IOException {
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.onChange = onChange;
+
+        for(String ontology : ontologies){
+            Path file;
+            try {
+                file = Paths.get(ontology).toAbsolutePath().normalize();
+            }
+            catch (InvalidPathException e) {
+                continue;
+            }
+
+            if(!Files.isRegularFile(file)){
+                continue;
+            }
+
+            if(!fileNamesByDirectory.containsKey(file.getParent())){
+                file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+                fileNamesByDirectory.put(file.getParent(), new HashSet<>());
+            }
+            fileNamesByDirectory.get(file.getParent()).add(file.getFileName());
+        }
+    }
+
+    /**
+     * Starts a daemon thread that waits for changes of the ontologies.
+     */
+    public void start(){
+        Thread thread = new Thread(this::watch, "ontology-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Waits for changes in the watched directories until the thread is interrupted.
+     * After a change of an ontology, waits until there are no more changes for "quietMillis" and calls "onChange".
+     */
+    private void watch(){
+        try {
+            while (true) {
+                if(ontologyChanged(watchService.take())){
+                    WatchKey key;
+                    while ((key = watchService.poll(quietMillis, TimeUnit.MILLISECONDS)) != null) {
+                        ontologyChanged(key);
+                    }
+                    onChange.run();
+                }
+            }
+        }
+        catch (InterruptedException | ClosedWatchServiceException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Takes the events of "key" and checks, if one of them is about an ontology.
+     *
+     * @param key contains the events of a watched directory
+     * @return true, if an ontology was created or changed
+     */
+    private boolean ontologyChanged(WatchKey key){
+        Set<Path> fileNames = fileNamesByDirectory.getOrDefault((Path) key.watchable(), Collections.emptySet());
+        boolean changed = false;
+
+        for(WatchEvent<?> event : key.pollEvents()){
+            if(event.kind() == StandardWatchEventKinds.OVERFLOW || fileNames.contains((Path) event.context())){
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+}
@@ -0,0 +1,40 @@
+package com.matching.MatchingAPI.Ontology;
+
+import java.util.Map;
+
+/**
+ * Everything the matching needs from both ontologies: the synonym labels of every class name and the {@link UnitDimensionResolver}.
+ * Is never changed after it is built. A new version of the ontologies gets a new index, which replaces the old one as a whole,
+ * so that a request that already got the old index finishes its matching with it.
+ */
+public class OntologyIndex {
+    private final Map<String, String[]> synonymLabelsByClassName;
+    private final UnitDimensionResolver unitDimensionResolver;
+
+    public OntologyIndex(Map<String, String[]> synonymLabelsByClassName, UnitDimensionResolver unitDimensionResolver){
+        this.synonymLabelsByClassName = synonymLabelsByClassName;
+        this.unitDimensionResolver = unitDimensionResolver;
+    }
+
+    /**
+     * Builds the index of both ontologies, from the {@link OntologySnapshot} or by parsing the ontologies (see {@link OntologySnapshot#loadOrCreate}).
+     *
+     * @param synonymsOntology contains the path of the synonym ontology
+     * @param unitOntology contains the path of the unit ontology ("om-2.0.rdf")
+     * @param snapshotFile contains the path of the snapshot (null or empty, if no snapshot is used)
+     * @return the index of both ontologies
+     */
+    public static OntologyIndex load(String synonymsOntology, String unitOntology, String snapshotFile){
+        OntologySnapshot ontologies = OntologySnapshot.loadOrCreate(synonymsOntology, unitOntology, snapshotFile);
+
+        return new OntologyIndex(OntologyProcessingService.getClassLabelIndex(ontologies.getClassesWithLabels()), new UnitDimensionResolver(ontologies.getUnits()));
+    }
+
+    public Map<String, String[]> getSynonymLabelsByClassName() {
+        return synonymLabelsByClassName;
+    }
+
+    public UnitDimensionResolver getUnitDimensionResolver() {
+        return unitDimensionResolver;
+    }
+}
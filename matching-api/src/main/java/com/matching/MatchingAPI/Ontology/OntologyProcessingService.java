@@ -8,9 +8,7 @@ import org.apache.jena.rdf.model.ResourceFactory;
 import org.apache.jena.util.iterator.ExtendedIterator;
 import org.apache.jena.vocabulary.RDFS;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Locale;
+import java.util.*;
 
 /**
  * Contains functions to process ontologies.
@@ -18,6 +16,7 @@ import java.util.Locale;
 public class OntologyProcessingService {
     final static String unitclassName = "Unit", prefixedUnitClassName = "PrefixedUnit", namespace = "http://www.ontology-of-units-of-measure.org/resource/om-2/",
             ontSymbolName = "symbol", ontDimensionName = "hasDimension";
+    final static int classNameIndex = 0;
 
     /**
      * Takes labels, symbol and dimension of a unit and saves them in an object of "OntologyUnit".
@@ -116,46 +115,23 @@ public class OntologyProcessingService {
     }
 
     /**
-     * Searches for both input units if there labels or symbol are connect to a unit in "listOfUnits".
-     * If there is a connection, the dimension are saved and than are than compared with each other.
-     * Than tests if both units have the same unit dimension.
+     * Creates from "classesWithLabels" (see "getListOfClassesWithLabels") an index from the class name to the class name and its labels.
+     * Classes without name are left out. If several classes have the same name, the last one is used.
      *
-     * @param inUnit the unit of the value of an object
-     * @param outUnit the unit of the value of the another object
-     * @param listOfUnits list of all Units in "om-2.0.rdf"
-     * @return if dimensions the same its true, else its false
+     * @param classesWithLabels contains for every class a list with name and labels of the class
+     * @return unmodifiable "labelsByClassName"
      */
-    public static boolean testUnitsForSimilarity(String inUnit, String outUnit, List<OntologyUnit> listOfUnits){
-        String inDimension = "", outDimension = "";
+    public static Map<String, String[]> getClassLabelIndex(List<List<String>> classesWithLabels){
+        Map<String, String[]> labelsByClassName = new HashMap<>();
 
-        if(inUnit.equals(outUnit)){
-            return true;
-        }
-        else{
-            for (OntologyUnit ontologyUnit : listOfUnits) {
-                for(String label : ontologyUnit.getLabels()){
-                    if(label.toLowerCase(Locale.ROOT).equals(inUnit.toLowerCase())){
-                        inDimension = ontologyUnit.getDimension();
-                    }
-                    else if(label.toLowerCase(Locale.ROOT).equals(outUnit.toLowerCase())){
-                        outDimension = ontologyUnit.getDimension();
-                    }
-                }
+        for(List<String> classAndLabels : classesWithLabels){
+            String className = classAndLabels.get(classNameIndex);
 
-                if(ontologyUnit.getSymbol().equals(inUnit)){
-                    inDimension = ontologyUnit.getDimension();
-                }
-                else if(ontologyUnit.getSymbol().equals(outUnit)){
-                    outDimension = ontologyUnit.getDimension();
-                }
+            if(className != null){
+                labelsByClassName.put(className, classAndLabels.toArray(new String[0]));
             }
         }
 
-        if(!inDimension.equals("") || !outDimension.equals("")){
-            if(inDimension.equals(outDimension)){
-                return true;
-            }
-        }
-        return false;
+        return Collections.unmodifiableMap(labelsByClassName);
     }
 }
@@ -0,0 +1,305 @@
+package com.matching.MatchingAPI.Ontology;
+
+import org.apache.jena.ontology.OntModel;
+import org.apache.jena.rdf.model.ModelFactory;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * Compact binary snapshot of the data the matching needs from the ontologies:
+ * the synonym classes with their labels (see {@link OntologyProcessingService#getListOfClassesWithLabels})
+ * and the units with labels, symbol and dimension (see {@link OntologyProcessingService#getListOfOntologyUnits}).
+ *
+ * The snapshot contains the SHA-256 checksums of both ontology files. It is read memory-mapped, if the checksums
+ * are still the same, else both ontologies are parsed with Jena like before and the snapshot is written again.
+ * Layout (big endian): magic, version, both checksums, classes (number of names, names), units (number of labels,
+ * labels, symbol, dimension), CRC32 of everything before. A string is its length in UTF-8 bytes (-1 for null) and the bytes.
+ */
+public class OntologySnapshot {
+    final static int magic = 0x4F4E5453, version = 1, checksumLength = 32;
+
+    private final List<List<String>> classesWithLabels;
+    private final List<OntologyUnit> units;
+
+    public OntologySnapshot(List<List<String>> classesWithLabels, List<OntologyUnit> units){
+        this.classesWithLabels = classesWithLabels;
+        this.units = units;
+    }
+
+    public List<List<String>> getClassesWithLabels() {
+        return classesWithLabels;
+    }
+
+    public List<OntologyUnit> getUnits() {
+        return units;
+    }
+
+    /**
+     * Reads the snapshot at "snapshotFile", if it was written for the current ontology files.
+     * Else parses both ontologies and writes a new snapshot (if that fails, the parsed ontologies are still used).
+     * Without "snapshotFile" or if an ontology is no local file (like an URL), the ontologies are always parsed.
+     *
+     * @param synonymsOntology contains the path of the synonym ontology
+     * @param unitOntology contains the path of the unit ontology ("om-2.0.rdf")
+     * @param snapshotFile contains the path of the snapshot (null or empty, if no snapshot is used)
+     * @return the classes with labels and the units of the ontologies
+     */
+    public static OntologySnapshot loadOrCreate(String synonymsOntology, String unitOntology, String snapshotFile){
+        if(snapshotFile == null || snapshotFile.isEmpty() || !isLocalFile(synonymsOntology) || !isLocalFile(unitOntology)){
+            return parseOntologies(synonymsOntology, unitOntology);
+        }
+
+        byte[] synonymsChecksum, unitChecksum;
+        try {
+            synonymsChecksum = calculateChecksum(Paths.get(synonymsOntology));
+            unitChecksum = calculateChecksum(Paths.get(unitOntology));
+        }
+        catch (IOException e) {
+            e.printStackTrace();
+            return parseOntologies(synonymsOntology, unitOntology);
+        }
+
+        Path snapshotPath = Paths.get(snapshotFile);
+        if(Files.isRegularFile(snapshotPath)){
+            try {
+                OntologySnapshot snapshot = read(snapshotPath, synonymsChecksum, unitChecksum);
+
+                if(snapshot != null){
+                    return snapshot;
+                }
+            }
+            catch (IOException | RuntimeException e) {
+                //damaged snapshot, it is written again
+                e.printStackTrace();
+            }
+        }
+
+        OntologySnapshot snapshot = parseOntologies(synonymsOntology, unitOntology);
+        try {
+            snapshot.write(snapshotPath, synonymsChecksum, unitChecksum);
+        }
+        catch (IOException e) {
+            e.printStackTrace();
+        }
+        return snapshot;
+    }
+
+    /**
+     * Parses both ontologies into Jena models and takes the classes with labels and the units out of them.
+     *
+     * @param synonymsOntology contains the path of the synonym ontology
+     * @param unitOntology contains the path of the unit ontology
+     * @return the classes with labels and the units of the ontologies
+     */
+    public static OntologySnapshot parseOntologies(String synonymsOntology, String unitOntology){
+        OntModel synonyms = ModelFactory.createOntologyModel();
+        synonyms.read(synonymsOntology);
+        List<List<String>> classesWithLabels = OntologyProcessingService.getListOfClassesWithLabels(synonyms);
+
+        OntModel units = ModelFactory.createOntologyModel();
+        units.read(unitOntology);
+
+        return new OntologySnapshot(classesWithLabels, OntologyProcessingService.getListOfOntologyUnits(units));
+    }
+
+    /**
+     * Checks, if "ontology" is the path of a local file (and no URL).
+     *
+     * @param ontology contains the path of an ontology
+     * @return true, if it is a local file
+     */
+    private static boolean isLocalFile(String ontology){
+        try {
+            return ontology != null && Files.isRegularFile(Paths.get(ontology));
+        }
+        catch (InvalidPathException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Calculates the SHA-256 checksum of a file.
+     *
+     * @param file contains the path of the file
+     * @return the checksum
+     * @throws IOException if the file can not be read
+     */
+    static byte[] calculateChecksum(Path file) throws IOException {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(file));
+        }
+        catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Reads the snapshot memory-mapped.
+     *
+     * @param snapshotPath contains the path of the snapshot
+     * @param synonymsChecksum checksum of the current synonym ontology
+     * @param unitChecksum checksum of the current unit ontology
+     * @return the snapshot or null, if it has another version or was written for other ontologies
+     * @throws IOException if the snapshot can not be read or is damaged
+     */
+    static OntologySnapshot read(Path snapshotPath, byte[] synonymsChecksum, byte[] unitChecksum) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(snapshotPath, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if(buffer.limit() < 2 * Integer.BYTES + 2 * checksumLength + Integer.BYTES || buffer.getInt() != magic || buffer.getInt() != version){
+            return null;
+        }
+
+        byte[] checksum = new byte[checksumLength];
+        buffer.get(checksum);
+        if(!Arrays.equals(checksum, synonymsChecksum)){
+            return null;
+        }
+        buffer.get(checksum);
+        if(!Arrays.equals(checksum, unitChecksum)){
+            return null;
+        }
+
+        CRC32 crc = new CRC32();
+        ByteBuffer content = buffer.duplicate();
+        content.position(0).limit(buffer.limit() - Integer.BYTES);
+        crc.update(content);
+        if((int) crc.getValue() != buffer.getInt(buffer.limit() - Integer.BYTES)){
+            throw new IOException("Damaged ontology snapshot " + snapshotPath);
+        }
+
+        int classCount = buffer.getInt();
+        List<List<String>> classesWithLabels = new ArrayList<>(classCount);
+        for (int i = 0; i < classCount; i++) {
+            classesWithLabels.add(readStrings(buffer));
+        }
+
+        int unitCount = buffer.getInt();
+        List<OntologyUnit> units = new ArrayList<>(unitCount);
+        for (int i = 0; i < unitCount; i++) {
+            List<String> labels = readStrings(buffer);
+            String symbol = readString(buffer), dimension = readString(buffer);
+
+            units.add(new OntologyUnit(labels, symbol, dimension));
+        }
+
+        return new OntologySnapshot(classesWithLabels, units);
+    }
+
+    /**
+     * Writes the snapshot to a temporary file and replaces "snapshotPath" with it.
+     *
+     * @param snapshotPath contains the path of the snapshot
+     * @param synonymsChecksum checksum of the synonym ontology
+     * @param unitChecksum checksum of the unit ontology
+     * @throws IOException if the snapshot can not be written
+     */
+    void write(Path snapshotPath, byte[] synonymsChecksum, byte[] unitChecksum) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+
+        output.writeInt(magic);
+        output.writeInt(version);
+        output.write(synonymsChecksum);
+        output.write(unitChecksum);
+
+        output.writeInt(classesWithLabels.size());
+        for(List<String> classAndLabels : classesWithLabels){
+            writeStrings(output, classAndLabels);
+        }
+
+        output.writeInt(units.size());
+        for(OntologyUnit unit : units){
+            writeStrings(output, unit.getLabels());
+            writeString(output, unit.getSymbol());
+            writeString(output, unit.getDimension());
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        output.writeInt((int) crc.getValue());
+        output.flush();
+
+        Path temporaryPath = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+        Files.write(temporaryPath, bytes.toByteArray());
+        Files.move(temporaryPath, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads a list of strings (number of strings and the strings).
+     *
+     * @param buffer contains the snapshot
+     * @return the strings
+     */
+    private static List<String> readStrings(ByteBuffer buffer){
+        int count = buffer.getInt();
+        List<String> strings = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            strings.add(readString(buffer));
+        }
+        return strings;
+    }
+
+    /**
+     * Reads a string (length in UTF-8 bytes or -1 for null and the bytes).
+     *
+     * @param buffer contains the snapshot
+     * @return the string or null
+     */
+    private static String readString(ByteBuffer buffer){
+        int length = buffer.getInt();
+
+        if(length < 0){
+            return null;
+        }
+
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes a list of strings (number of strings and the strings).
+     *
+     * @param output receives the snapshot
+     * @param strings contains the strings
+     * @throws IOException if the snapshot can not be written
+     */
+    private static void writeStrings(DataOutputStream output, List<String> strings) throws IOException {
+        output.writeInt(strings.size());
+
+        for(String string : strings){
+            writeString(output, string);
+        }
+    }
+
+    /**
+     * Writes a string (length in UTF-8 bytes or -1 for null and the bytes).
+     *
+     * @param output receives the snapshot
+     * @param string contains the string or null
+     * @throws IOException if the snapshot can not be written
+     */
+    private static void writeString(DataOutputStream output, String string) throws IOException {
+        if(string == null){
+            output.writeInt(-1);
+            return;
+        }
+
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+}
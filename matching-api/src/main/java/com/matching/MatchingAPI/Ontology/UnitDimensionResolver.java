@@ -0,0 +1,109 @@
+package com.matching.MatchingAPI.Ontology;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Resolves units to the dimension they belong to in "om-2.0.rdf".
+ * Built once from the list of {@link OntologyUnit}, so that every lookup is a hash lookup instead of a walk through all units and their labels.
+ * Labels are saved in lower case, symbols exactly like in the ontology. Dimensions are saved as interned ids, so that comparing them is an int comparison.
+ */
+public class UnitDimensionResolver {
+    final static int noDimension = -1;
+
+    private final Map<String, ResolvedUnit> unitsByLabel = new HashMap<>(), unitsBySymbol = new HashMap<>();
+
+    /**
+     * Position of a unit in the list of units and the id of its dimension.
+     * If several units have the same label or symbol, the position decides which one is used (like before the unit that comes last).
+     */
+    private static class ResolvedUnit {
+        final int position, dimensionId;
+
+        ResolvedUnit(int position, int dimensionId){
+            this.position = position;
+            this.dimensionId = dimensionId;
+        }
+    }
+
+    /**
+     * Goes through "listOfUnits" and saves every label (in lower case) and symbol with the position and dimension id of its unit.
+     * Units without dimension get "noDimension" as id.
+     *
+     * @param listOfUnits list of all Units in "om-2.0.rdf"
+     */
+    public UnitDimensionResolver(List<OntologyUnit> listOfUnits){
+        Map<String, Integer> dimensionIds = new HashMap<>();
+
+        for (int position = 0; position < listOfUnits.size(); position++) {
+            OntologyUnit ontologyUnit = listOfUnits.get(position);
+            int dimensionId = noDimension;
+
+            if(!ontologyUnit.getDimension().equals("")){
+                dimensionId = dimensionIds.computeIfAbsent(ontologyUnit.getDimension(), dimension -> dimensionIds.size());
+            }
+
+            ResolvedUnit resolvedUnit = new ResolvedUnit(position, dimensionId);
+
+            for(String label : ontologyUnit.getLabels()){
+                unitsByLabel.put(label.toLowerCase(Locale.ROOT), resolvedUnit);
+            }
+            unitsBySymbol.put(ontologyUnit.getSymbol(), resolvedUnit);
+        }
+    }
+
+    /**
+     * Searches the unit under its labels and symbols.
+     * If label and symbol belong to different units, the unit that comes later in the list of units is used (on the same unit the symbol).
+     *
+     * @param unit the unit of the value of an object
+     * @return the id of the dimension of the unit or "noDimension", if the unit is unknown or has no dimension
+     */
+    public int resolveDimension(String unit){
+        ResolvedUnit byLabel = unitsByLabel.get(unit.toLowerCase(Locale.ROOT));
+        ResolvedUnit bySymbol = unitsBySymbol.get(unit);
+
+        if(byLabel == null && bySymbol == null){
+            return noDimension;
+        }
+        else if(bySymbol == null || (byLabel != null && byLabel.position > bySymbol.position)){
+            return byLabel.dimensionId;
+        }
+        else {
+            return bySymbol.dimensionId;
+        }
+    }
+
+    /**
+     * Calculates the block of a unit for partitioning properties by their unit.
+     * Two units are in the same block exactly if they are the same or "haveSameDimension" says they are similar:
+     * units with dimension are in the block of their dimension, all others (like the pseudo unit "String") in a block only for themselves.
+     *
+     * @param unit the unit of the value of an object
+     * @return the dimension id of the unit or, if it has no dimension, the unit itself
+     */
+    public Object getUnitBlock(String unit){
+        int dimension = resolveDimension(unit);
+
+        if(dimension == noDimension){
+            return unit;
+        }
+        return dimension;
+    }
+
+    /**
+     * Resolves the dimensions of both units and compares them.
+     * (the matching compares the blocks of "getUnitBlock" instead, which are the same for these units)
+     *
+     * @param inUnit the unit of the value of an object
+     * @param outUnit the unit of the value of the another object
+     * @return if both units have a dimension and it is the same its true, else its false
+     */
+    boolean haveSameDimension(String inUnit, String outUnit){
+        int inDimension = resolveDimension(inUnit);
+
+        return inDimension != noDimension && inDimension == resolveDimension(outUnit);
+    }
+}
@@ -14,13 +14,38 @@ public class Settings {
     static Settings Instance;
     private String synonymsOntology;
     private String unitOntology;
+    private String ontologySnapshot;
+    private boolean ontologyWatch;
     private int suggestionSize;
     private double minSimilarityValue;
+    private long similarityCacheSize;
+    private long similarityCacheExpireMinutes;
+    private long preparedPropertyCacheSize;
+    private int matchingParallelism;
+    private int matchingRequestThreads;
+    private int matchingRequestQueue;
+    private long maxPendingComparisons;
+    private String wordAlignment;
+    private boolean candidatePruning;
+    private int candidateLimit;
+    private int batchParallelism;
+    private int matchedPairsCompactionThreshold;
+    private boolean confirmedPairs;
+    private boolean bitParallelSimilarity;
 
     static void initialize()
     {
         final String configFile = "./src/main/resources/application.properties", synonymsOntology = "synonymsOntology",
-                unitOntology = "unitOntology", suggestionSize = "suggestionSize", minSimilarityValue = "minSimilarityValue";
+                unitOntology = "unitOntology", suggestionSize = "suggestionSize", minSimilarityValue = "minSimilarityValue",
+                similarityCacheSize = "similarityCacheSize", similarityCacheExpireMinutes = "similarityCacheExpireMinutes",
+                preparedPropertyCacheSize = "preparedPropertyCacheSize",
+                matchingParallelism = "matchingParallelism", wordAlignment = "wordAlignment",
+                matchingRequestThreads = "matchingRequestThreads", matchingRequestQueue = "matchingRequestQueue",
+                maxPendingComparisons = "maxPendingComparisons",
+                candidatePruning = "candidatePruning", candidateLimit = "candidateLimit",
+                batchParallelism = "batchParallelism", matchedPairsCompactionThreshold = "matchedPairsCompactionThreshold",
+                confirmedPairs = "confirmedPairs", ontologySnapshot = "ontologySnapshot",
+                ontologyWatch = "ontologyWatch", bitParallelSimilarity = "bitParallelSimilarity";
         FileReader reader;
         Properties props = new Properties();
         String intValue, doubleValue;
@@ -33,10 +58,26 @@ public class Settings {
 
             Instance.synonymsOntology = props.getProperty(synonymsOntology);
             Instance.unitOntology = props.getProperty(unitOntology);
+            Instance.ontologySnapshot = props.getProperty(ontologySnapshot, "");
+            Instance.ontologyWatch = Boolean.parseBoolean(props.getProperty(ontologyWatch, "false"));
             intValue = props.getProperty(suggestionSize);
             Instance.suggestionSize = Integer.parseInt(intValue);
             doubleValue = props.getProperty(minSimilarityValue);
             Instance.minSimilarityValue = Double.parseDouble(doubleValue);
+            Instance.similarityCacheSize = Long.parseLong(props.getProperty(similarityCacheSize, "100000"));
+            Instance.similarityCacheExpireMinutes = Long.parseLong(props.getProperty(similarityCacheExpireMinutes, "0"));
+            Instance.preparedPropertyCacheSize = Long.parseLong(props.getProperty(preparedPropertyCacheSize, "100000"));
+            Instance.matchingParallelism = Integer.parseInt(props.getProperty(matchingParallelism, "1"));
+            Instance.matchingRequestThreads = Integer.parseInt(props.getProperty(matchingRequestThreads, "0"));
+            Instance.matchingRequestQueue = Integer.parseInt(props.getProperty(matchingRequestQueue, "32"));
+            Instance.maxPendingComparisons = Long.parseLong(props.getProperty(maxPendingComparisons, "100000000"));
+            Instance.wordAlignment = props.getProperty(wordAlignment, "greedy");
+            Instance.candidatePruning = Boolean.parseBoolean(props.getProperty(candidatePruning, "false"));
+            Instance.candidateLimit = Integer.parseInt(props.getProperty(candidateLimit, "0"));
+            Instance.batchParallelism = Integer.parseInt(props.getProperty(batchParallelism, "0"));
+            Instance.matchedPairsCompactionThreshold = Integer.parseInt(props.getProperty(matchedPairsCompactionThreshold, "1000"));
+            Instance.confirmedPairs = Boolean.parseBoolean(props.getProperty(confirmedPairs, "false"));
+            Instance.bitParallelSimilarity = Boolean.parseBoolean(props.getProperty(bitParallelSimilarity, "true"));
         } catch (FileNotFoundException e) {
             e.printStackTrace();
         } catch (IOException e) {
@@ -56,6 +97,14 @@ public class Settings {
         return unitOntology;
     }
 
+    public String getOntologySnapshot() {
+        return ontologySnapshot;
+    }
+
+    public boolean isOntologyWatch() {
+        return ontologyWatch;
+    }
+
     public Integer getSuggestionSize() {
         return suggestionSize;
     }
@@ -64,6 +113,62 @@ public class Settings {
         return minSimilarityValue;
     }
 
+    public long getSimilarityCacheSize() {
+        return similarityCacheSize;
+    }
+
+    public long getSimilarityCacheExpireMinutes() {
+        return similarityCacheExpireMinutes;
+    }
+
+    public long getPreparedPropertyCacheSize() {
+        return preparedPropertyCacheSize;
+    }
+
+    public int getMatchingParallelism() {
+        return matchingParallelism;
+    }
+
+    public int getMatchingRequestThreads() {
+        return matchingRequestThreads;
+    }
+
+    public int getMatchingRequestQueue() {
+        return matchingRequestQueue;
+    }
+
+    public long getMaxPendingComparisons() {
+        return maxPendingComparisons;
+    }
+
+    public String getWordAlignment() {
+        return wordAlignment;
+    }
+
+    public boolean isCandidatePruning() {
+        return candidatePruning;
+    }
+
+    public int getCandidateLimit() {
+        return candidateLimit;
+    }
+
+    public int getBatchParallelism() {
+        return batchParallelism;
+    }
+
+    public int getMatchedPairsCompactionThreshold() {
+        return matchedPairsCompactionThreshold;
+    }
+
+    public boolean isConfirmedPairs() {
+        return confirmedPairs;
+    }
+
+    public boolean isBitParallelSimilarity() {
+        return bitParallelSimilarity;
+    }
+
     static {
         initialize();
     }
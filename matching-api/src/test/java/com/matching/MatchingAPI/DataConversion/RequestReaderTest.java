@@ -0,0 +1,70 @@
+package com.matching.MatchingAPI.DataConversion;
+
+import com.matching.MatchingAPI.Entry;
+import com.matching.MatchingAPI.Matching.MatchingProperty;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Compares the properties read by {@link RequestReader} with the properties of the converters from the parsed request string.
+ */
+class RequestReaderTest {
+    final static DataConverter inputConverter = new PartDatabaseConverter();
+    final static DataConverter outputConverter = new VirtualSatelliteConverter();
+
+    private static Entry<List<MatchingProperty>, List<MatchingProperty>> read(String request) throws IOException {
+        return RequestReader.readMatchingPropertyLists(new ByteArrayInputStream(request.getBytes(StandardCharsets.UTF_8)), inputConverter, outputConverter);
+    }
+
+    private static void assertSameProperties(List<MatchingProperty> expected, List<MatchingProperty> actual){
+        assertEquals(expected.size(), actual.size());
+
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getName(), actual.get(i).getName());
+            assertEquals(expected.get(i).getValue(), actual.get(i).getValue());
+            assertEquals(expected.get(i).getUnit(), actual.get(i).getUnit());
+        }
+    }
+
+    private static void assertSameAsParsed(String request) throws IOException {
+        Entry<List<MatchingProperty>, List<MatchingProperty>> objectPropertyLists = read(request);
+
+        assertSameProperties(inputConverter.jsonToMatchingPropertyList(request), objectPropertyLists.getKey());
+        assertSameProperties(outputConverter.jsonToMatchingPropertyList(request), objectPropertyLists.getValue());
+    }
+
+    @Test
+    void readLikeParsed() throws IOException {
+        assertSameAsParsed("{\"inputObjectData\": {\"partName\": \"Timer \\\"A\\\"\", \"mass\": 1.50, \"active\": true, \"notes\": null,"
+                + " \"size\": [{\"name\": \"width\", \"value\": 2e3, \"unit\": \"mm\"}, {\"name\": \"height\", \"value\": null, \"unit\": \"mm\"}],"
+                + " \"extra\": {\"a\": [1, \"b\"]}, \"text\": \"tab\\t<&> \\u00e4\\u2028\"},"
+                + " \"outputObjectData\": [{\"name\": \"Name\", \"value\": \"Timer\"}, {\"name\": \"Mass\", \"value\": 1.5, \"unit\": \"kg\"}]}");
+    }
+
+    @Test
+    void readOutputBeforeInputAndOtherKeys() throws IOException {
+        assertSameAsParsed("{\"version\": [1, {\"x\": null}], \"outputObjectData\": [], \"inputObjectData\": {}, \"comment\": \"none\"}");
+    }
+
+    @Test
+    void readRepeatedKeys() throws IOException {
+        assertSameAsParsed("{\"inputObjectData\": {\"a\": \"1\", \"b\": [{\"name\": \"b1\", \"value\": 1, \"unit\": \"m\"}], \"c\": \"3\","
+                + " \"a\": [{\"name\": \"a1\", \"value\": 1, \"unit\": \"m\"}, {\"name\": \"a2\", \"value\": 2, \"unit\": \"m\"}], \"b\": null},"
+                + " \"outputObjectData\": [{\"name\": \"old\", \"value\": 0}], \"outputObjectData\": [{\"name\": \"new\", \"value\": 1}]}");
+    }
+
+    @Test
+    void rejectIncompleteRequests(){
+        assertThrows(RuntimeException.class, () -> read("{\"outputObjectData\": []}"));
+        assertThrows(RuntimeException.class, () -> read("{\"inputObjectData\": {}}"));
+        assertThrows(IOException.class, () -> read("{\"inputObjectData\": {}, \"outputObjectData\": ["));
+        assertThrows(RuntimeException.class, () -> read("{\"inputObjectData\": {}, \"outputObjectData\": []} []"));
+    }
+}
@@ -0,0 +1,124 @@
+package com.matching.MatchingAPI.Matching;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.matching.MatchingAPI.ComparableEntry;
+import com.matching.MatchingAPI.Entry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Matches batches of variants of the "/json" request in "matching/request.json" with {@link BatchMatchingService}
+ * and compares every line with the response of "/json" for the pair, also if there are more pairs and input objects than are kept in progress.
+ */
+class BatchMatchingServiceTest {
+    final static Gson gson = new Gson();
+    private static JsonObject request;
+
+    @BeforeAll
+    static void loadOntologies() throws IOException {
+        assertTrue(MatchingService.loadOntologyIndex());
+
+        try (InputStream resource = BatchMatchingServiceTest.class.getResourceAsStream("/matching/request.json")) {
+            request = gson.fromJson(new String(resource.readAllBytes(), StandardCharsets.UTF_8), JsonObject.class);
+        }
+    }
+
+    private static String matchJson(JsonElement pair) throws IOException {
+        Entry<List<MatchingProperty>, List<MatchingProperty>> objectPropertyLists = MatchingService.readObjects(new ByteArrayInputStream(pair.toString().getBytes(StandardCharsets.UTF_8)),
+                MatchingAPI.inputConverter, MatchingAPI.outputConverter, null);
+        List<ComparableEntry<String, Double>[]>[] matchingSuggestionList = MatchingService.matchObjects(objectPropertyLists, CompSimSelection.all, null);
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+
+        MatchingService.writeMatchingSuggestions(objectPropertyLists.getValue(), matchingSuggestionList, null, response);
+        return response.toString(StandardCharsets.UTF_8);
+    }
+
+    private static String[] matchBatch(String pairs) throws IOException {
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+
+        BatchMatchingService.generateBatchMatchingSuggestions(new ByteArrayInputStream(pairs.getBytes(StandardCharsets.UTF_8)), response);
+        String lines = response.toString(StandardCharsets.UTF_8);
+
+        assertTrue(lines.isEmpty() || lines.endsWith("\n"));
+        return lines.isEmpty() ? new String[0] : lines.split("\n");
+    }
+
+    /**
+     * Creates a pair with the input object of the request without its "removedInProperty"-th property (none, if it is negative)
+     * and the first "outPropertyCount" properties of its output object.
+     */
+    private static JsonObject createPair(int removedInProperty, int outPropertyCount){
+        JsonObject inputObject = request.getAsJsonObject("inputObjectData").deepCopy();
+        if(removedInProperty >= 0){
+            inputObject.remove(new ArrayList<>(inputObject.keySet()).get(removedInProperty % inputObject.size()));
+        }
+
+        JsonArray outputObject = new JsonArray();
+        JsonArray outProperties = request.getAsJsonArray("outputObjectData");
+        for (int i = 0; i < outPropertyCount; i++) {
+            outputObject.add(outProperties.get(i));
+        }
+
+        JsonObject pair = new JsonObject();
+        pair.add("inputObjectData", inputObject);
+        pair.add("outputObjectData", outputObject);
+        return pair;
+    }
+
+    @Test
+    void writeLinesInOrderOfPairs() throws IOException {
+        int outPropertyCount = request.getAsJsonArray("outputObjectData").size();
+        int pairCount = 4 * BatchMatchingService.maxPairsInProgress + 3;
+        JsonArray pairs = new JsonArray();
+
+        for (int i = 0; i < pairCount; i++) {
+            //more different input objects than "maxPreparedInputObjects", with repeated ones, and output objects of different sizes
+            pairs.add(createPair(i % (BatchMatchingService.maxPreparedInputObjects + 3) - 1, outPropertyCount - i % outPropertyCount));
+        }
+
+        String[] lines = matchBatch(pairs.toString());
+
+        assertEquals(pairCount, lines.length);
+        for (int i = 0; i < pairCount; i++) {
+            assertEquals(matchJson(pairs.get(i)), lines[i], "line " + i);
+        }
+    }
+
+    @Test
+    void writeErrorLineForInvalidPair() throws IOException {
+        JsonObject pair = createPair(-1, 3);
+        String[] lines = matchBatch("[" + pair + ", 42, {\"inputObjectData\": 5, \"outputObjectData\": []}, " + pair + "]");
+
+        assertEquals(4, lines.length);
+        assertEquals(matchJson(pair), lines[0]);
+        assertTrue(gson.fromJson(lines[1], JsonObject.class).has("error"));
+        assertTrue(gson.fromJson(lines[2], JsonObject.class).has("error"));
+        assertEquals(matchJson(pair), lines[3]);
+    }
+
+    @Test
+    void stopAtInvalidJson() throws IOException {
+        JsonObject pair = createPair(-1, 3);
+        String[] lines = matchBatch("[" + pair + ", {\"inputObjectData\": ");
+
+        assertEquals(2, lines.length);
+        assertEquals(matchJson(pair), lines[0]);
+        assertTrue(gson.fromJson(lines[1], JsonObject.class).has("error"));
+
+        assertEquals(0, matchBatch("[]").length);
+        assertEquals(1, matchBatch("{}").length);
+    }
+}
@@ -0,0 +1,74 @@
+package com.matching.MatchingAPI.Matching;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks which input properties {@link CandidateIndex#selectCandidates} selects for an output property and in which order.
+ */
+class CandidateIndexTest {
+    private static CandidateIndex index(String... names){
+        List<InputProperty> properties = new ArrayList<>();
+
+        for(String name : names){
+            properties.add(new InputProperty(new MatchingProperty(name, "1", null), null));
+        }
+        return new CandidateIndex(properties);
+    }
+
+    private static List<String> names(List<InputProperty> candidates){
+        List<String> names = new ArrayList<>();
+
+        for(InputProperty candidate : candidates){
+            names.add(candidate.getProperty().getName());
+        }
+        return names;
+    }
+
+    @Test
+    void selectMostCommonTrigramsInInputOrder(){
+        CandidateIndex index = index("voltage", "time", "battery voltage", "mass");
+
+        assertEquals(List.of("voltage", "battery voltage"), names(index.selectCandidates("batteryVoltage", 2)));
+        assertEquals(List.of("battery voltage"), names(index.selectCandidates("batteryVoltage", 1)));
+    }
+
+    @Test
+    void selectEarlierPropertyWithEqualTrigrams(){
+        //"mass a", "mass b" and "massx" have the trigrams "mas" and "ass" of "mass" in common
+        CandidateIndex index = index("time", "mass a", "mass b", "massx");
+
+        assertEquals(List.of("mass a"), names(index.selectCandidates("mass", 1)));
+        assertEquals(List.of("mass a", "mass b"), names(index.selectCandidates("mass", 2)));
+        assertEquals(List.of("mass a", "mass b", "massx"), names(index.selectCandidates("mass", 3)));
+    }
+
+    @Test
+    void selectAllIfLimitIsNotSmaller(){
+        CandidateIndex index = index("voltage", "time", "mass");
+
+        assertEquals(List.of("voltage", "time", "mass"), names(index.selectCandidates("mass", 3)));
+        assertEquals(List.of("voltage", "time", "mass"), names(index.selectCandidates("mass", 10)));
+    }
+
+    @Test
+    void selectAllWithoutLimit(){
+        CandidateIndex index = index("voltage", "time", "mass");
+
+        assertEquals(List.of("voltage", "time", "mass"), names(index.selectCandidates("mass", 0)));
+    }
+
+    @Test
+    void selectShortNames(){
+        //names shorter than 3 characters have no trigrams, so they share none with any name
+        CandidateIndex index = index("time", "id", "mass", "x");
+
+        assertEquals(List.of("time", "id"), names(index.selectCandidates("id", 2)));
+        assertEquals(List.of("time", "mass"), names(index.selectCandidates("mass", 2)));
+        assertEquals(List.of("mass"), names(index.selectCandidates("mass", 1)));
+    }
+}
@@ -0,0 +1,129 @@
+package com.matching.MatchingAPI.Matching;
+
+import com.matching.MatchingAPI.ComparableEntry;
+import com.matching.MatchingAPI.Ontology.OntologyIndex;
+import com.matching.MatchingAPI.Ontology.UnitDimensionResolver;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.regex.Matcher;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks, that a selection of compositional methods ({@link CompSimSelection}) gives the same similarity values and matching suggestions
+ * for these methods as the calculation of all methods, with and without "candidatePruning" and with partly cached similarity values.
+ */
+class CompSimSelectionTest {
+    private static List<String> readOntologyLabels() throws IOException {
+        Set<String> strings = new LinkedHashSet<>();
+        Matcher matcher = SimilarityBoundsTest.quotedString.matcher(new String(Files.readAllBytes(Paths.get("./ontologies/synonymsForMatching.ttl")), StandardCharsets.UTF_8));
+
+        while (matcher.find() && strings.size() < 300) {
+            strings.add(matcher.group(1));
+        }
+        return new ArrayList<>(strings);
+    }
+
+    private static CompSimSelection randomSelection(Random random){
+        StringJoiner methods = new StringJoiner(",");
+
+        for(CompSimEnum method : CompSimEnum.values()){
+            if(random.nextInt(3) == 0){
+                methods.add(method.toString());
+            }
+        }
+        return CompSimSelection.parse(methods.length() == 0 ? CompSimEnum.jaroWinkler.toString() : methods.toString());
+    }
+
+    @Test
+    void parseMethods(){
+        CompSimSelection selection = CompSimSelection.parse("jaroWinkler, max");
+
+        assertTrue(selection.isSelected(CompSimEnum.jaroWinkler.index));
+        assertTrue(selection.isSelected(CompSimEnum.max.index));
+        assertFalse(selection.isSelected(CompSimEnum.jaccard.index));
+        assertEquals(0b111, selection.getBaseMetrics());
+        assertEquals(0b001, CompSimSelection.parse("jaroWinkler,weighted").getBaseMetrics());
+        assertSame(CompSimSelection.all, CompSimSelection.parse(""));
+        assertThrows(IllegalArgumentException.class, () -> CompSimSelection.parse("jaroWinkler,levenshtein"));
+    }
+
+    @Test
+    void compareSelectedMethodsLikeAll() throws IOException {
+        List<String> labels = readOntologyLabels();
+        Random random = new Random(5);
+
+        for (int i = 0; i < 3000; i++) {
+            String first = labels.get(random.nextInt(labels.size())), second = labels.get(random.nextInt(labels.size()));
+            CompSimSelection selection = randomSelection(random);
+
+            //first the selection (maybe cached with less methods before), then all methods from the same cache entry
+            Double[] selected = StringSimilarityService.compareStrings(first, second, selection);
+            Double[] all = StringSimilarityService.compareWords(PropertyNameTokenizer.tokenize(first), PropertyNameTokenizer.tokenize(second));
+
+            for (int j = 0; j < all.length; j++) {
+                if(selection.isSelected(j)){
+                    assertEquals(all[j], selected[j], first + " / " + second + " " + CompSimEnum.values()[j]);
+                }
+            }
+            assertArrayEquals(all, StringSimilarityService.compareStrings(first, second));
+        }
+    }
+
+    @Test
+    void compareOnlyWeightedWithoutWordOrder(){
+        MatchingDiagnostics diagnostics = new MatchingDiagnostics();
+        CompSimSelection weighted = CompSimSelection.parse("weighted");
+
+        Double[] similarities = MatchingDiagnostics.callWith(diagnostics, () -> StringSimilarityService.compareStrings("operatingTemperature", "temperature_ops_min", weighted));
+
+        assertEquals(0.0, similarities[CompSimEnum.weighted.index]);
+        assertNull(similarities[CompSimEnum.jaroWinkler.index]);
+        assertEquals(0, diagnostics.changeWordOrderCalls.sum());
+    }
+
+    @Test
+    void matchSelectedMethodsLikeAll() throws IOException {
+        List<String> labels = readOntologyLabels();
+        Map<String, String[]> synonymLabelsByClassName = new HashMap<>();
+        Random random = new Random(7);
+
+        for (int i = 0; i < 20; i++) {
+            synonymLabelsByClassName.put(labels.get(i), new String[]{labels.get(i), labels.get(i + 20), labels.get(i + 40)});
+        }
+        MatchingService.ontologyIndex.compareAndSet(null, new OntologyIndex(synonymLabelsByClassName, new UnitDimensionResolver(List.of())));
+
+        boolean candidatePruning = MatchingService.candidatePruning;
+        try {
+            for (int i = 0; i < 40; i++) {
+                List<MatchingProperty> inputProperties = new ArrayList<>(), outputProperties = new ArrayList<>();
+                for (int j = 0; j < 30; j++) {
+                    inputProperties.add(new MatchingProperty(labels.get(random.nextInt(labels.size())), "", ""));
+                    outputProperties.add(new MatchingProperty(labels.get(random.nextInt(labels.size())), "", ""));
+                }
+                CompSimSelection selection = randomSelection(random);
+                MatchingService.candidatePruning = i % 2 == 0;
+
+                InputObject inputObject = MatchingService.prepareInputObject(inputProperties);
+                List<ComparableEntry<String, Double>[]>[] selected = MatchingService.calculateMatchingSuggestions(inputObject, outputProperties, selection);
+                List<ComparableEntry<String, Double>[]>[] all = MatchingService.calculateMatchingSuggestions(inputObject, outputProperties);
+
+                for (int j = 0; j < all.length; j++) {
+                    if(!selection.isSelected(j)){
+                        all[j] = null;
+                        assertNull(selected[j]);
+                    }
+                }
+                assertEquals(MatchingService.createAllOutputs(outputProperties, all), MatchingService.createAllOutputs(outputProperties, selected));
+            }
+        }
+        finally {
+            MatchingService.candidatePruning = candidatePruning;
+        }
+    }
+}
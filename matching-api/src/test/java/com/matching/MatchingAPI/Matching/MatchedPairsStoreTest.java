@@ -0,0 +1,150 @@
+package com.matching.MatchingAPI.Matching;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks, that {@link MatchedPairsStore} loses no pairs of concurrent calls, after compaction and after reopening,
+ * and that the confirmed pairs of all output apis can be looked up.
+ */
+class MatchedPairsStoreTest {
+    final static Gson gson = new Gson();
+
+    private static JsonArray pairs(String json){
+        return gson.fromJson(json, JsonArray.class);
+    }
+
+    private static List<String> names(List<JsonElement> inPropertyNames){
+        List<String> names = new ArrayList<>();
+
+        for(JsonElement inPropertyName : inPropertyNames){
+            names.add(inPropertyName.getAsString());
+        }
+        return names;
+    }
+
+    @Test
+    void importFormerFileAndReopen(@TempDir Path directory) throws IOException {
+        Files.write(directory.resolve("virSat"), "{\"mass\":[\"weight\"],\"time\":[\"duration\",\"timer\"]}".getBytes(StandardCharsets.UTF_8));
+
+        MatchedPairsStore store = new MatchedPairsStore(directory, 1000);
+        store.addMatchingPairs("virSat", pairs("[{\"outPropertyName\":\"mass\",\"inPropertyName\":\"weight\"},"
+                + "{\"outPropertyName\":\"mass\",\"inPropertyName\":\"massValue\"},{\"outPropertyName\":\"name\",\"inPropertyName\":\"partName\"},"
+                + "{\"outPropertyName\":\"name\",\"inPropertyName\":\"title\"}]"));
+        store.close();
+
+        //an incomplete last line of the log is ignored
+        Files.write(directory.resolve("virSat.log"), "{\"outPropertyName\":\"size".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        store = new MatchedPairsStore(directory, 1000);
+        assertEquals(List.of("weight", "massValue"), names(store.getInPropertyNames("virSat", "mass")));
+        assertEquals(List.of("duration", "timer"), names(store.getInPropertyNames("virSat", "time")));
+        assertEquals(List.of("partName", "title"), names(store.getInPropertyNames("virSat", "name")));
+        assertEquals(List.of(), store.getInPropertyNames("virSat", "size"));
+        assertEquals(List.of(), store.getInPropertyNames("otherApi", "mass"));
+
+        store.addMatchingPairs("virSat", pairs("[{\"outPropertyName\":\"size\",\"inPropertyName\":\"width\"}]"));
+        store.close();
+
+        store = new MatchedPairsStore(directory, 1000);
+        assertEquals(List.of("width"), names(store.getInPropertyNames("virSat", "size")));
+        store.close();
+    }
+
+    @Test
+    void addConcurrentlyWithCompaction(@TempDir Path directory) throws Exception {
+        MatchedPairsStore store = new MatchedPairsStore(directory, 50);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        int threads = 8, pairsPerThread = 200;
+
+        for (int thread = 0; thread < threads; thread++) {
+            int threadNumber = thread;
+
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < pairsPerThread; i++) {
+                    store.addMatchingPairs("api" + (i % 3), pairs("[{\"outPropertyName\":\"out" + (i % 7) + "\",\"inPropertyName\":\"in" + threadNumber + "_" + i + "\"}]"));
+                }
+                return null;
+            }));
+        }
+        for(Future<?> future : futures){
+            future.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+        store.close();
+
+        MatchedPairsStore reopenedStore = new MatchedPairsStore(directory, 50);
+        int pairCount = 0;
+
+        for (int api = 0; api < 3; api++) {
+            for (int out = 0; out < 7; out++) {
+                pairCount += reopenedStore.getInPropertyNames("api" + api, "out" + out).size();
+            }
+        }
+        assertEquals(threads * pairsPerThread, pairCount);
+        assertTrue(Files.exists(directory.resolve("api0.snapshot")));
+        reopenedStore.close();
+    }
+
+    @Test
+    void lookUpConfirmedPairs(@TempDir Path directory) throws IOException {
+        Files.write(directory.resolve("partDat"), "{\"mass\":[\"weight\"]}".getBytes(StandardCharsets.UTF_8));
+
+        MatchedPairsStore store = new MatchedPairsStore(directory, 1000);
+        store.addMatchingPairs("virSat", pairs("[{\"outPropertyName\":\"time\",\"inPropertyName\":\"duration\"}]"));
+        store.close();
+
+        store = new MatchedPairsStore(directory, 1000);
+        assertFalse(store.hasConfirmedPairs("mass"));
+        store.loadAllApis();
+
+        assertTrue(store.isConfirmedPair("mass", "weight"));
+        assertTrue(store.isConfirmedPair("time", "duration"));
+        assertFalse(store.isConfirmedPair("time", "weight"));
+        assertFalse(store.hasConfirmedPairs("size"));
+
+        store.addMatchingPairs("partDat", pairs("[{\"outPropertyName\":\"size\",\"inPropertyName\":\"width\"}]"));
+        assertTrue(store.isConfirmedPair("size", "width"));
+        store.close();
+    }
+
+    @Test
+    void failedSaveIsNotAcknowledged(@TempDir Path directory) throws IOException {
+        MatchedPairsStore store = new MatchedPairsStore(directory, 1000);
+        store.addMatchingPairs("virSat", pairs("[{\"outPropertyName\":\"mass\",\"inPropertyName\":\"weight\"}]"));
+        store.close();
+
+        //the log of "virSat" is closed, "partDat" can not be committed any more
+        assertThrows(IOException.class, () -> store.addMatchingPairs("virSat", pairs("[{\"outPropertyName\":\"time\",\"inPropertyName\":\"duration\"}]")));
+        assertThrows(IOException.class, () -> store.addMatchingPairs("partDat", pairs("[{\"outPropertyName\":\"size\",\"inPropertyName\":\"width\"}]")));
+        assertFalse(store.isConfirmedPair("time", "duration"));
+        assertFalse(store.isConfirmedPair("size", "width"));
+        assertEquals(List.of("weight"), names(store.getInPropertyNames("virSat", "mass")));
+        assertEquals(List.of(), store.getInPropertyNames("virSat", "time"));
+
+        //the failed write left no incomplete line, so the log can be loaded and extended
+        MatchedPairsStore reopenedStore = new MatchedPairsStore(directory, 1000);
+        reopenedStore.addMatchingPairs("virSat", pairs("[{\"outPropertyName\":\"name\",\"inPropertyName\":\"title\"}]"));
+        reopenedStore.close();
+
+        reopenedStore = new MatchedPairsStore(directory, 1000);
+        assertEquals(List.of("weight"), names(reopenedStore.getInPropertyNames("virSat", "mass")));
+        assertEquals(List.of("title"), names(reopenedStore.getInPropertyNames("virSat", "name")));
+        reopenedStore.close();
+    }
+}
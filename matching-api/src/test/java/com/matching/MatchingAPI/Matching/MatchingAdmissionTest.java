@@ -0,0 +1,106 @@
+package com.matching.MatchingAPI.Matching;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks, that {@link MatchingAdmission} rejects requests when its queue is full or the pending cost is too high,
+ * always admits a request when nothing is pending and frees the cost of every finished request, also of a failed one.
+ */
+class MatchingAdmissionTest {
+    private static long pendingCost(MatchingAdmission admission){
+        return admission.getStatistics().get("pendingCost").getAsLong();
+    }
+
+    private static void awaitPendingCost(MatchingAdmission admission, long cost) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+
+        while(pendingCost(admission) != cost && System.nanoTime() < deadline){
+            Thread.sleep(1);
+        }
+        assertEquals(cost, pendingCost(admission));
+    }
+
+    private static Runnable blockUntil(CountDownLatch started, CountDownLatch release){
+        return () -> {
+            started.countDown();
+            try {
+                release.await();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+    }
+
+    @Test
+    void rejectWhenQueueIsFull() throws InterruptedException {
+        MatchingAdmission admission = new MatchingAdmission(1, 1, 0);
+        CountDownLatch started = new CountDownLatch(1), release = new CountDownLatch(1);
+
+        assertTrue(admission.submit(10, blockUntil(started, release)));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        assertFalse(admission.isSaturated());
+
+        assertTrue(admission.submit(10, () -> {}));
+        assertTrue(admission.isSaturated());
+        assertFalse(admission.submit(1, () -> {}));
+        assertEquals(20, pendingCost(admission));
+
+        release.countDown();
+        awaitPendingCost(admission, 0);
+        assertEquals(2, admission.getStatistics().get("admitted").getAsLong());
+        assertEquals(1, admission.getStatistics().get("rejected").getAsLong());
+    }
+
+    @Test
+    void rejectAbovePendingCost() throws InterruptedException {
+        MatchingAdmission admission = new MatchingAdmission(2, 10, 100);
+        CountDownLatch started = new CountDownLatch(1), release = new CountDownLatch(1);
+
+        assertTrue(admission.submit(80, blockUntil(started, release)));
+        assertFalse(admission.submit(30, () -> {}));
+        assertEquals(80, pendingCost(admission));
+        assertTrue(admission.submit(20, blockUntil(new CountDownLatch(1), release)));
+        assertEquals(100, pendingCost(admission));
+
+        release.countDown();
+        awaitPendingCost(admission, 0);
+        assertTrue(admission.submit(30, () -> {}));
+        awaitPendingCost(admission, 0);
+    }
+
+    @Test
+    void admitAnyCostWhenNothingIsPending() throws InterruptedException {
+        MatchingAdmission admission = new MatchingAdmission(1, 1, 100);
+        CountDownLatch matched = new CountDownLatch(1);
+
+        assertTrue(admission.submit(1000, matched::countDown));
+        assertTrue(matched.await(10, TimeUnit.SECONDS));
+        awaitPendingCost(admission, 0);
+    }
+
+    @Test
+    void freeCostOfFailedRequest() throws InterruptedException {
+        MatchingAdmission admission = new MatchingAdmission(1, 1, 100);
+
+        assertTrue(admission.submit(50, () -> {
+            throw new IllegalStateException("matching failed");
+        }));
+        awaitPendingCost(admission, 0);
+
+        assertTrue(admission.submit(60, () -> {
+            throw new StackOverflowError();
+        }));
+        awaitPendingCost(admission, 0);
+
+        //the executor replaced its thread and still matches
+        CountDownLatch matched = new CountDownLatch(1);
+        assertTrue(admission.submit(100, matched::countDown));
+        assertTrue(matched.await(10, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,89 @@
+package com.matching.MatchingAPI.Matching;
+
+import com.matching.MatchingAPI.ComparableEntry;
+import com.matching.MatchingAPI.Entry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Matches the "/json" request in "matching/request.json" like {@link MatchingAPI} and compares the response with "matching/suggestions.txt",
+ * the response of the version before blocking by unit, the synonym index and the parallel matching.
+ * The request has input properties with synonym classes (also as nested properties) and without, and properties of different units.
+ */
+class MatchingServiceTest {
+    private static byte[] request;
+    private static String expectedSuggestions;
+
+    private static byte[] readResource(String name) throws IOException {
+        try (InputStream resource = MatchingServiceTest.class.getResourceAsStream("/matching/" + name)) {
+            return resource.readAllBytes();
+        }
+    }
+
+    @BeforeAll
+    static void loadOntologies() throws IOException {
+        assertTrue(MatchingService.loadOntologyIndex());
+        request = readResource("request.json");
+        expectedSuggestions = new String(readResource("suggestions.txt"), StandardCharsets.UTF_8);
+    }
+
+    private static String match() throws IOException {
+        Entry<List<MatchingProperty>, List<MatchingProperty>> objectPropertyLists = MatchingService.readObjects(new ByteArrayInputStream(request),
+                MatchingAPI.inputConverter, MatchingAPI.outputConverter, null);
+        List<ComparableEntry<String, Double>[]>[] matchingSuggestionList = MatchingService.matchObjects(objectPropertyLists, CompSimSelection.all, null);
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+
+        MatchingService.writeMatchingSuggestions(objectPropertyLists.getValue(), matchingSuggestionList, null, response);
+        return response.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void matchOneAfterAnother() throws IOException {
+        ForkJoinPool matchingPool = MatchingService.matchingPool;
+        MatchingService.matchingPool = null;
+        try {
+            assertEquals(expectedSuggestions, match());
+        }
+        finally {
+            MatchingService.matchingPool = matchingPool;
+        }
+    }
+
+    @Test
+    void matchInParallel() throws IOException {
+        ForkJoinPool matchingPool = MatchingService.matchingPool;
+        MatchingService.matchingPool = new ForkJoinPool(4);
+        try {
+            for (int i = 0; i < 3; i++) {
+                assertEquals(expectedSuggestions, match());
+            }
+        }
+        finally {
+            MatchingService.matchingPool.shutdown();
+            MatchingService.matchingPool = matchingPool;
+        }
+    }
+
+    @Test
+    void matchWithPruning() throws IOException {
+        boolean candidatePruning = MatchingService.candidatePruning;
+        MatchingService.candidatePruning = true;
+        try {
+            assertEquals(expectedSuggestions, match());
+        }
+        finally {
+            MatchingService.candidatePruning = candidatePruning;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.matching.MatchingAPI.Matching;
+
+import com.matching.MatchingAPI.Ontology.OntologyIndex;
+import com.matching.MatchingAPI.Ontology.UnitDimensionResolver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks, that a failed load of the ontologies keeps the "ontologyIndex" before
+ * and that calls of "reloadOntologies" while a reload waits are left out, with a replaced "ontologyLoader" of {@link MatchingService}.
+ */
+class OntologyReloadTest {
+    private Supplier<OntologyIndex> ontologyLoader;
+    private OntologyIndex ontologyIndex;
+
+    private static OntologyIndex createIndex(){
+        return new OntologyIndex(Map.of("mass", new String[]{"mass", "weight"}), new UnitDimensionResolver(List.of()));
+    }
+
+    private static void awaitReloads() throws Exception {
+        //the executor has one thread, so all reloads before are finished
+        MatchingService.ontologyReloadExecutor.submit(() -> {}).get(1, TimeUnit.MINUTES);
+    }
+
+    @BeforeEach
+    void saveOntologies(){
+        ontologyLoader = MatchingService.ontologyLoader;
+        ontologyIndex = MatchingService.ontologyIndex.get();
+    }
+
+    @AfterEach
+    void restoreOntologies(){
+        MatchingService.ontologyLoader = ontologyLoader;
+        MatchingService.ontologyIndex.set(ontologyIndex);
+        if(ontologyIndex != null){
+            StringSimilarityService.preparedProperties.prepareLabels(ontologyIndex.getSynonymLabelsByClassName());
+        }
+    }
+
+    @Test
+    void keepIndexAfterFailedLoad() throws Exception {
+        OntologyIndex previousIndex = createIndex();
+        MatchingService.ontologyIndex.set(previousIndex);
+        MatchingService.ontologyLoader = () -> {
+            throw new IllegalStateException("ontology can not be parsed");
+        };
+        long failedLoads = MatchingService.failedOntologyLoads.sum();
+
+        assertFalse(MatchingService.loadOntologyIndex());
+        assertSame(previousIndex, MatchingService.ontologyIndex.get());
+
+        assertTrue(MatchingService.reloadOntologies());
+        awaitReloads();
+        assertSame(previousIndex, MatchingService.ontologyIndex.get());
+        assertEquals(failedLoads + 2, MatchingService.failedOntologyLoads.sum());
+
+        OntologyIndex nextIndex = createIndex();
+        MatchingService.ontologyLoader = () -> nextIndex;
+        assertTrue(MatchingService.reloadOntologies());
+        awaitReloads();
+        assertSame(nextIndex, MatchingService.ontologyIndex.get());
+    }
+
+    @Test
+    void foldReloadsWhileOneWaits() throws Exception {
+        CountDownLatch started = new CountDownLatch(1), release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        MatchingService.ontologyLoader = () -> {
+            loads.incrementAndGet();
+            started.countDown();
+            try {
+                assertTrue(release.await(1, TimeUnit.MINUTES));
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return createIndex();
+        };
+
+        assertTrue(MatchingService.reloadOntologies());
+        assertTrue(started.await(1, TimeUnit.MINUTES));
+
+        //the first reload is running, the next one waits and takes all following calls
+        assertTrue(MatchingService.reloadOntologies());
+        for (int i = 0; i < 10; i++) {
+            assertFalse(MatchingService.reloadOntologies());
+        }
+
+        release.countDown();
+        awaitReloads();
+        assertEquals(2, loads.get());
+        assertFalse(MatchingService.ontologyReloadWaiting.get());
+    }
+}
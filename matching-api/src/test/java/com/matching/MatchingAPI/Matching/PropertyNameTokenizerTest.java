@@ -0,0 +1,111 @@
+package com.matching.MatchingAPI.Matching;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+/**
+ * Compares {@link PropertyNameTokenizer} with the former regular expression based "makeUniformStringArray" of {@link StringSimilarityService}.
+ */
+class PropertyNameTokenizerTest {
+    final static Pattern minOneBigCharacter = Pattern.compile(".*[A-Z].*"), minOneSpecialCharacter = Pattern.compile(".*[`~!@#$%^&*()\\-_=+\\\\|\\[{\\]};:'\",<.>/?].*");
+    final static String RegExLookAheadAllSpecialCharacters = "(?=[`~!@#$%^&*()\\-_=+\\\\|\\[{\\]};:'\",<.>/?])",
+            RegExAllSpecialCharacters = "[`~!@#$%^&*()\\-_=+\\\\|\\[{\\]};:'\",<.>/?]", RegExAllBigCharacters = "(?=[A-Z])";
+    final static Pattern quotedString = Pattern.compile("\"([^\"]*)\"|>([^<>]+)</rdfs:label>");
+
+    private static String[] deleteDoubleWords(String[] words){
+        for (int i = 0; i < words.length; i++) {
+            String word = words[i];
+
+            for (int j = 0; j < words.length; j++) {
+                if(i != j && words[j].equals(word)){
+                    words = ArrayUtils.remove(words, j);
+                }
+            }
+        }
+
+        return words;
+    }
+
+    private static String[] makeUniformStringArray(String string){
+        String[] words;
+
+        if(minOneSpecialCharacter.matcher(string).find()){
+            words = string.split(RegExLookAheadAllSpecialCharacters);
+
+            for(int i = 0; i < words.length;++i){
+                words[i] = words[i].replaceAll(RegExAllSpecialCharacters, "");
+            }
+        }
+        else if(minOneBigCharacter.matcher(string).find()){
+            words = string.split(RegExAllBigCharacters);
+        }
+        else words = string.split(" ");
+
+        for(int i = 0; i < words.length;++i){
+            words[i] = words[i].toLowerCase();
+            words[i] = words[i].replaceAll(" ", "");
+        }
+
+        return deleteDoubleWords(words);
+    }
+
+    private static void assertSameWords(String string){
+        assertArrayEquals(makeUniformStringArray(string), PropertyNameTokenizer.tokenize(string), () -> "\"" + string + "\"");
+    }
+
+    @Test
+    void tokenizeEdgeCases(){
+        String[] strings = {"", " ", "   ", "a", " a", "a ", "a  b ", "-", "-a", "a-", "a--b", "__init__", "a.b.c", "size.width",
+                "A", "AB", "aB", "camelCaseName", "Spans of time", "unit Of Duration", "tt&c", "command/Telemetry", "tc/tm interface",
+                "a a a", "a b a a", "x a a a", "a a b b", "b-a-a", "Über Größe", "İstanbul Time", "ÄB-c", "tab\tseparated", "a_B c-D"};
+
+        for(String string : strings){
+            assertSameWords(string);
+        }
+    }
+
+    @Test
+    void tokenizeOntologyLabels() throws IOException {
+        List<String> strings = new ArrayList<>();
+
+        for(String ontology : new String[]{"./ontologies/synonymsForMatching.ttl", "./ontologies/om-2.0.rdf"}){
+            Matcher matcher = quotedString.matcher(new String(Files.readAllBytes(Paths.get(ontology)), StandardCharsets.UTF_8));
+
+            while(matcher.find()){
+                strings.add(matcher.group(1) != null ? matcher.group(1) : matcher.group(2));
+            }
+        }
+
+        for(String string : strings){
+            assertSameWords(string);
+        }
+    }
+
+    @Test
+    void tokenizeRandomStrings(){
+        String alphabet = "aAbBzZ  -_./&éÉ";
+        Random random = new Random(1);
+
+        for (int i = 0; i < 100000; i++) {
+            StringBuilder string = new StringBuilder();
+            int length = random.nextInt(12);
+
+            for (int j = 0; j < length; j++) {
+                string.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            assertSameWords(string.toString());
+        }
+    }
+}
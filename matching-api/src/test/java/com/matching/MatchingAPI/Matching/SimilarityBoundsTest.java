@@ -0,0 +1,73 @@
+package com.matching.MatchingAPI.Matching;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks, that the upper bounds of {@link SimilarityBounds} are never lower than the values of {@link StringSimilarityService#compareWords}.
+ */
+class SimilarityBoundsTest {
+    final static Pattern quotedString = Pattern.compile("\"([^\"]*)\"");
+
+    private static void assertUpperBounds(String first, String second){
+        double[] bounds = new double[CompSimEnum.values().length];
+        SimilarityBounds.calculateUpperBounds(first, second, bounds);
+        Double[] similarities = StringSimilarityService.compareWords(PropertyNameTokenizer.tokenize(first), PropertyNameTokenizer.tokenize(second));
+
+        for (int i = 0; i < bounds.length; i++) {
+            CompSimEnum method = CompSimEnum.values()[i];
+            double bound = bounds[i], similarity = similarities[i];
+            //NaN is higher than every value
+            assertTrue(Double.isNaN(bound) || (!Double.isNaN(similarity) && similarity <= bound),
+                    () -> method + " \"" + first + "\" / \"" + second + "\": " + similarity + " > " + bound);
+        }
+    }
+
+    @Test
+    void boundOntologyLabels() throws IOException {
+        List<String> strings = new ArrayList<>();
+        Matcher matcher = quotedString.matcher(new String(Files.readAllBytes(Paths.get("./ontologies/synonymsForMatching.ttl")), StandardCharsets.UTF_8));
+
+        while(matcher.find()){
+            strings.add(matcher.group(1));
+        }
+
+        for(String first : strings){
+            for(String second : strings){
+                assertUpperBounds(first, second);
+            }
+        }
+    }
+
+    @Test
+    void boundRandomNames(){
+        String[] vocabulary = {"a", "b", "ab", "ba", "abc", "cab", "time", "timer", "mass", "Mass", "of", "on", "switch", "after", "x", "-", "_", " "};
+        Random random = new Random(1);
+
+        for (int i = 0; i < 50000; i++) {
+            assertUpperBounds(randomName(random, vocabulary), randomName(random, vocabulary));
+        }
+    }
+
+    private static String randomName(Random random, String[] vocabulary){
+        StringBuilder name = new StringBuilder();
+        int length = random.nextInt(8);
+
+        for (int i = 0; i < length; i++) {
+            name.append(vocabulary[random.nextInt(vocabulary.length)]);
+        }
+
+        return name.toString();
+    }
+}
@@ -0,0 +1,138 @@
+package com.matching.MatchingAPI.Matching;
+
+import info.debatty.java.stringsimilarity.Jaccard;
+import info.debatty.java.stringsimilarity.JaroWinkler;
+import info.debatty.java.stringsimilarity.NormalizedLevenshtein;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares {@link SimilarityKernel} with the implementations of the "java-string-similarity" library.
+ */
+class SimilarityKernelTest {
+    final static double tolerance = 1e-9;
+    final static Pattern quotedString = Pattern.compile("\"([^\"]*)\"|>([^<>]+)</rdfs:label>");
+
+    final static JaroWinkler jw = new JaroWinkler();
+    final static NormalizedLevenshtein nl = new NormalizedLevenshtein();
+    final static Jaccard jc = new Jaccard();
+
+    private static void assertSameSimilarities(String first, String second){
+        double[] similarities = new double[3];
+        SimilarityKernel.calculateSimilarities(first, second, similarities);
+
+        String pair = "\"" + first + "\" / \"" + second + "\"";
+        assertEquals(jw.similarity(first, second), similarities[CompSimEnum.jaroWinkler.index], tolerance, () -> "Jaro Winkler " + pair);
+        assertEquals(jc.similarity(first, second), similarities[CompSimEnum.jaccard.index], tolerance, () -> "Jaccard " + pair);
+        assertEquals(nl.similarity(first, second), similarities[CompSimEnum.normLevenshtein.index], tolerance, () -> "Normalized Levenshtein " + pair);
+    }
+
+    @Test
+    void calculateEdgeCases(){
+        String[] strings = {"", " ", "a", "ab", "ba", "abc", "abd", "cba", "aaa", "aaaa", "martha", "marhta", "dixon", "dicksonx",
+                "jellyfish", "smellyfish", "a  b", "a \t\nb", "a b", "massofsatellite", "satellitemass", "Über Größe", "timeinterval"};
+
+        for(String first : strings){
+            for(String second : strings){
+                assertSameSimilarities(first, second);
+            }
+        }
+    }
+
+    @Test
+    void calculateOntologyLabels() throws IOException {
+        List<String> strings = new ArrayList<>();
+        Matcher matcher = quotedString.matcher(new String(Files.readAllBytes(Paths.get("./ontologies/synonymsForMatching.ttl")), StandardCharsets.UTF_8));
+
+        while(matcher.find()){
+            strings.add(matcher.group(1) != null ? matcher.group(1) : matcher.group(2));
+        }
+
+        for(String first : strings){
+            for(String second : strings){
+                assertSameSimilarities(first, second);
+            }
+        }
+    }
+
+    @Test
+    void calculateRandomStrings(){
+        String alphabet = "aabbcde  \tfgz";
+        Random random = new Random(1);
+
+        for (int i = 0; i < 100000; i++) {
+            assertSameSimilarities(randomString(random, alphabet, 80), randomString(random, alphabet, 80));
+        }
+    }
+
+    @Test
+    void calculateBitParallelLikeClassic(){
+        String alphabet = "aabbcdeäöü  \tfg\u4e2d";
+        Random random = new Random(2);
+        boolean bitParallel = SimilarityKernel.bitParallel;
+        double[] bitParallelSimilarities = new double[3], classicSimilarities = new double[3];
+
+        try {
+            for (int i = 0; i < 100000; i++) {
+                //lengths around "bitParallelLength", to check the last bit and the fallback
+                String first = randomString(random, alphabet, i % 2 == 0 ? 12 : 70), second = randomString(random, alphabet, 70);
+
+                SimilarityKernel.bitParallel = true;
+                SimilarityKernel.calculateSimilarities(first, second, bitParallelSimilarities);
+                SimilarityKernel.bitParallel = false;
+                SimilarityKernel.calculateSimilarities(first, second, classicSimilarities);
+
+                assertArrayEquals(classicSimilarities, bitParallelSimilarities, "\"" + first + "\" / \"" + second + "\"");
+            }
+        }
+        finally {
+            SimilarityKernel.bitParallel = bitParallel;
+        }
+    }
+
+    @Test
+    void calculateProfilesLikeStrings(){
+        String alphabet = "aabbcdeäöü  \tfg\u4e2d";
+        Random random = new Random(4);
+        boolean bitParallel = SimilarityKernel.bitParallel;
+        double[] profileSimilarities = new double[3], stringSimilarities = new double[3];
+
+        try {
+            for (int i = 0; i < 100000; i++) {
+                String first = randomString(random, alphabet, 70), second = randomString(random, alphabet, i % 3 == 0 ? 12 : 70);
+                SimilarityKernel.bitParallel = i % 2 == 0;
+
+                SimilarityKernel.calculateSimilarities(SimilarityKernel.profile(first), SimilarityKernel.profile(second), profileSimilarities);
+                SimilarityKernel.calculateSimilarities(first, second, stringSimilarities);
+
+                assertArrayEquals(stringSimilarities, profileSimilarities, "\"" + first + "\" / \"" + second + "\"");
+            }
+        }
+        finally {
+            SimilarityKernel.bitParallel = bitParallel;
+        }
+    }
+
+    private static String randomString(Random random, String alphabet, int maxLength){
+        StringBuilder string = new StringBuilder();
+        int length = random.nextInt(random.nextBoolean() ? 12 : maxLength);
+
+        for (int j = 0; j < length; j++) {
+            string.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+
+        return string.toString();
+    }
+}
@@ -0,0 +1,121 @@
+package com.matching.MatchingAPI.Matching;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.matching.MatchingAPI.ComparableEntry;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the json of {@link SuggestionWriter} with the former Gson "JsonObject" based "createAllOutputs" of {@link MatchingService}
+ * and checks, that the diagnostics are added as last key.
+ */
+class SuggestionWriterTest {
+    private static JsonArray getNonEmptySuggestions(ComparableEntry<String, Double>[] suggestions) {
+        JsonArray suggestionArray = new JsonArray();
+
+        for (ComparableEntry<String, Double> suggestion : suggestions){
+            if(suggestion != null){
+                if(suggestion.getKey().equals("noSimilarity")){
+                    suggestionArray.add(suggestion.getKey());
+                }
+                else {
+                    suggestionArray.add(suggestion.getKey() + "|" + suggestion.getValue());
+                }
+            }
+        }
+        return suggestionArray;
+    }
+
+    private static JsonElement createOutput(List<MatchingProperty> outputObjectPropertyList, List<ComparableEntry<String, Double>[]> matchingSuggestionList){
+        JsonElement matchingSuggestionJson = new JsonObject();
+
+        for (int i = 0; i < outputObjectPropertyList.size(); i++) {
+            JsonArray suggestionArray = getNonEmptySuggestions(matchingSuggestionList.get(i));
+            String outPropertyName = outputObjectPropertyList.get(i).getName();
+
+            if(suggestionArray.size() == 1){
+                matchingSuggestionJson.getAsJsonObject().add(outPropertyName, suggestionArray.get(0));
+            }
+            else {
+                matchingSuggestionJson.getAsJsonObject().add(outPropertyName, suggestionArray);
+            }
+        }
+        return matchingSuggestionJson;
+    }
+
+    private static String createAllOutputs(List<MatchingProperty> outputObjectPropertyList, List<ComparableEntry<String, Double>[]>[] matchingSuggestionList) {
+        JsonElement allSuggestionsLists = new JsonObject();
+
+        for (int i = 0; i < matchingSuggestionList.length; i++) {
+            allSuggestionsLists.getAsJsonObject().add(CompSimEnum.values()[i].toString(), createOutput(outputObjectPropertyList, matchingSuggestionList[i]));
+        }
+
+        return allSuggestionsLists.toString();
+    }
+
+    @Test
+    void writeLikeJsonObject(){
+        String[] names = {"mass", "Mass", "time \"after\" switch", "back\\slash", "tab\tline\nend\u0001", "<html> & 'quote' =", "\u00e4\u00f6\u00fc \u2028\u2029 \ud83d\ude00", ""};
+        double[] values = {0.0, 1.0, 0.5, 1.0 / 3, 0.123456789012345, 1e-7, 12345678.9, Double.NaN};
+        Random random = new Random(1);
+
+        for (int i = 0; i < 2000; i++) {
+            List<MatchingProperty> outputObjectPropertyList = new ArrayList<>();
+            List<ComparableEntry<String, Double>[]>[] matchingSuggestionList = new List[CompSimEnum.values().length];
+            int propertyCount = random.nextInt(6);
+
+            for (int j = 0; j < propertyCount; j++) {
+                outputObjectPropertyList.add(new MatchingProperty(names[random.nextInt(names.length)], "", ""));
+            }
+            for (int j = 0; j < matchingSuggestionList.length; j++) {
+                matchingSuggestionList[j] = new ArrayList<>();
+
+                for (int k = 0; k < propertyCount; k++) {
+                    ComparableEntry<String, Double>[] suggestions = new ComparableEntry[random.nextInt(4)];
+
+                    for (int l = 0; l < suggestions.length; l++) {
+                        int kind = random.nextInt(5);
+                        if(kind == 0){
+                            suggestions[l] = new ComparableEntry<>(MatchingService.noSimilarity, 0.0);
+                        }
+                        else if(kind > 1){
+                            suggestions[l] = new ComparableEntry<>(names[random.nextInt(names.length)], values[random.nextInt(values.length)]);
+                        }
+                    }
+                    matchingSuggestionList[j].add(suggestions);
+                }
+            }
+
+            assertEquals(createAllOutputs(outputObjectPropertyList, matchingSuggestionList), MatchingService.createAllOutputs(outputObjectPropertyList, matchingSuggestionList));
+        }
+    }
+
+    @Test
+    void writeDiagnosticsAsLastKey() throws IOException {
+        List<MatchingProperty> outputObjectPropertyList = List.of(new MatchingProperty("mass", "", ""));
+        List<ComparableEntry<String, Double>[]>[] matchingSuggestionList = new List[CompSimEnum.values().length];
+        for (int i = 0; i < matchingSuggestionList.length; i++) {
+            matchingSuggestionList[i] = new ArrayList<>();
+            matchingSuggestionList[i].add(new ComparableEntry[]{new ComparableEntry<>("weight", 0.5)});
+        }
+
+        JsonObject diagnostics = new JsonObject();
+        diagnostics.addProperty("compareStringsCalls", 1);
+        StringWriter writer = new StringWriter();
+        SuggestionWriter.writeAllOutputs(outputObjectPropertyList, matchingSuggestionList, () -> diagnostics, writer);
+
+        JsonObject expected = new Gson().fromJson(createAllOutputs(outputObjectPropertyList, matchingSuggestionList), JsonObject.class);
+        expected.add(SuggestionWriter.diagnosticsIdentifier, diagnostics);
+        assertEquals(expected.toString(), writer.toString());
+    }
+}
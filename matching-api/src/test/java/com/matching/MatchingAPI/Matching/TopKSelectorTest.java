@@ -0,0 +1,72 @@
+package com.matching.MatchingAPI.Matching;
+
+import com.matching.MatchingAPI.ComparableEntry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares {@link TopKSelector} with the former "PriorityQueue" of "ComparableEntry" in "bestMatchingsForOutProperties",
+ * including the order of entries with equal values and the reuse of the selectors of a thread.
+ */
+class TopKSelectorTest {
+    private static List<Integer> drain(PriorityQueue<ComparableEntry<Integer, Double>> minHeap){
+        List<Integer> indexes = new ArrayList<>();
+        while (!minHeap.isEmpty()) {
+            indexes.add(minHeap.poll().getKey());
+        }
+        return indexes;
+    }
+
+    private static List<Integer> drain(TopKSelector selector){
+        List<Integer> indexes = new ArrayList<>();
+        while (!selector.isEmpty()) {
+            indexes.add(selector.lowestIndex());
+            selector.removeLowest();
+        }
+        return indexes;
+    }
+
+    @Test
+    void selectLikePriorityQueue(){
+        Random random = new Random(3);
+
+        for (int run = 0; run < 2000; run++) {
+            int capacity = 1 + random.nextInt(8);
+            TopKSelector selector = TopKSelector.forMethods(CompSimSelection.all, capacity)[CompSimEnum.jaroWinkler.index];
+            PriorityQueue<ComparableEntry<Integer, Double>> minHeap = new PriorityQueue<>();
+
+            for (int index = 0, candidates = random.nextInt(60); index < candidates; index++) {
+                //few different values, so that there are many equal ones
+                double value = random.nextInt(10) == 0 ? Double.NEGATIVE_INFINITY : random.nextInt(5) / 4.0;
+
+                minHeap.add(new ComparableEntry<>(index, value));
+                if(minHeap.size() > capacity){
+                    minHeap.remove();
+                }
+                selector.add(index, value);
+
+                assertEquals(minHeap.size(), selector.size());
+                assertEquals(minHeap.peek().getValue(), selector.lowestValue());
+            }
+            assertEquals(drain(minHeap), drain(selector));
+        }
+    }
+
+    @Test
+    void reuseSelectorsOfThread(){
+        TopKSelector[] selectors = TopKSelector.forMethods(CompSimSelection.all, 3);
+        selectors[CompSimEnum.max.index].add(1, 0.5);
+
+        TopKSelector[] selected = TopKSelector.forMethods(CompSimSelection.parse("max,weighted"), 3);
+        assertSame(selectors, selected);
+        assertNull(selected[CompSimEnum.jaroWinkler.index]);
+        assertTrue(selected[CompSimEnum.max.index].isEmpty());
+        assertNotNull(selected[CompSimEnum.weighted.index]);
+    }
+}
@@ -0,0 +1,187 @@
+package com.matching.MatchingAPI.Matching;
+
+import com.matching.MatchingAPI.Entry;
+import info.debatty.java.stringsimilarity.Jaccard;
+import info.debatty.java.stringsimilarity.JaroWinkler;
+import info.debatty.java.stringsimilarity.NormalizedLevenshtein;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the greedy {@link WordAlignment} with the former "PriorityQueue" based "changeWordOrder" of {@link StringSimilarityService}
+ * and the Hungarian {@link WordAlignment} with all possible assignments.
+ */
+class WordAlignmentTest {
+    final static Pattern quotedString = Pattern.compile("\"([^\"]*)\"");
+
+    final static JaroWinkler jw = new JaroWinkler();
+    final static NormalizedLevenshtein nl = new NormalizedLevenshtein();
+    final static Jaccard jc = new Jaccard();
+
+    private static class SimilarityPairs implements Comparable<SimilarityPairs> {
+        final String firstString, secondString;
+        final Double similarityValue;
+
+        SimilarityPairs(String firstString, String secondString, double similarityValue){
+            this.firstString = firstString;
+            this.secondString = secondString;
+            this.similarityValue = similarityValue;
+        }
+
+        @Override
+        public int compareTo(SimilarityPairs otherPair) {
+            return similarityValue.compareTo(otherPair.similarityValue);
+        }
+    }
+
+    private static Entry<String, String> changeWordOrder(String[] firstWords, String[] secondWords){
+        String[] ArrayWithMoreWords, ArrayWithLessWords;
+        StringBuilder smallerString  = new StringBuilder();
+        StringBuilder biggerString = new StringBuilder();
+        List<String> wordsAlreadyInBiggerString = new ArrayList<>();
+        List<String> wordsAlreadyInSmallerString = new ArrayList<>();
+        PriorityQueue<SimilarityPairs> maxHeap = new PriorityQueue<>(Collections.reverseOrder());
+
+        if(firstWords.length > secondWords.length){
+            ArrayWithMoreWords = firstWords;
+            ArrayWithLessWords = secondWords;
+        }
+        else{
+            ArrayWithMoreWords = secondWords;
+            ArrayWithLessWords = firstWords;
+        }
+
+        for (String lessWord : ArrayWithLessWords) {
+            for (String moreWord : ArrayWithMoreWords) {
+                double averageSimilarity = (jw.similarity(lessWord, moreWord)+
+                        jc.similarity(lessWord, moreWord)+nl.similarity(lessWord, moreWord)) / 3;
+
+                maxHeap.add(new SimilarityPairs(lessWord, moreWord, averageSimilarity));
+            }
+        }
+
+        while (wordsAlreadyInSmallerString.size() < ArrayWithLessWords.length){
+            SimilarityPairs similarityPair = maxHeap.poll();
+
+            if(!wordsAlreadyInSmallerString.contains(similarityPair.firstString) && !wordsAlreadyInBiggerString.contains(similarityPair.secondString)){
+                smallerString.append(similarityPair.firstString);
+                biggerString.append(similarityPair.secondString);
+                wordsAlreadyInSmallerString.add(similarityPair.firstString);
+                wordsAlreadyInBiggerString.add(similarityPair.secondString);
+            }
+        }
+
+        if(ArrayWithLessWords.length != ArrayWithMoreWords.length) {
+            for (String moreWord : ArrayWithMoreWords) {
+                if (!wordsAlreadyInBiggerString.contains(moreWord)) {
+                    biggerString.append(moreWord);
+                }
+            }
+        }
+
+        return(new Entry<>(smallerString.toString(), biggerString.toString()));
+    }
+
+    private static void assertSameOrder(String[] firstWords, String[] secondWords){
+        Entry<String, String> expected = changeWordOrder(firstWords, secondWords);
+        Entry<String, String> actual = WordAlignment.alignWords(firstWords, secondWords);
+        String pair = Arrays.toString(firstWords) + " / " + Arrays.toString(secondWords);
+
+        assertEquals(expected.getKey(), actual.getKey(), pair);
+        assertEquals(expected.getValue(), actual.getValue(), pair);
+    }
+
+    @Test
+    void alignOntologyLabels() throws IOException {
+        List<String[]> wordArrays = new ArrayList<>();
+        Matcher matcher = quotedString.matcher(new String(Files.readAllBytes(Paths.get("./ontologies/synonymsForMatching.ttl")), StandardCharsets.UTF_8));
+
+        while(matcher.find()){
+            wordArrays.add(PropertyNameTokenizer.tokenize(matcher.group(1)));
+        }
+
+        for(String[] firstWords : wordArrays){
+            for(String[] secondWords : wordArrays){
+                assertSameOrder(firstWords, secondWords);
+            }
+        }
+    }
+
+    @Test
+    void alignRandomWords(){
+        String[] vocabulary = {"a", "b", "ab", "ba", "abc", "cab", "bca", "time", "timer", "mass", "masses", "of", "on", "switch", "after", "x"};
+        Random random = new Random(1);
+
+        for (int i = 0; i < 50000; i++) {
+            assertSameOrder(randomWords(random, vocabulary), randomWords(random, vocabulary));
+        }
+    }
+
+    @Test
+    void assignOptimal(){
+        String[] vocabulary = {"a", "ab", "abc", "cab", "bca", "time", "timer", "mass", "masses", "of", "on", "switch", "after"};
+        Random random = new Random(2);
+
+        for (int i = 0; i < 5000; i++) {
+            String[] lessWords = randomWords(random, vocabulary);
+            String[] moreWords = randomWords(random, vocabulary);
+            if(lessWords.length > moreWords.length){
+                String[] swap = lessWords;
+                lessWords = moreWords;
+                moreWords = swap;
+            }
+
+            int[] assignment = WordAlignment.findOptimalAssignment(lessWords, moreWords);
+            double sum = 0;
+            for (int row = 0; row < lessWords.length; row++) {
+                sum += score(lessWords[row], moreWords[assignment[row]]);
+            }
+
+            assertEquals(bestSum(lessWords, moreWords, 0, new boolean[moreWords.length]), sum, 1e-9,
+                    Arrays.toString(lessWords) + " / " + Arrays.toString(moreWords));
+        }
+    }
+
+    private static double score(String lessWord, String moreWord){
+        double average = (jw.similarity(lessWord, moreWord) + jc.similarity(lessWord, moreWord) + nl.similarity(lessWord, moreWord)) / 3;
+
+        return Double.isNaN(average) ? 0 : average;
+    }
+
+    private static double bestSum(String[] lessWords, String[] moreWords, int row, boolean[] used){
+        if(row == lessWords.length){
+            return 0;
+        }
+
+        double best = Double.NEGATIVE_INFINITY;
+        for (int column = 0; column < moreWords.length; column++) {
+            if(!used[column]){
+                used[column] = true;
+                best = Math.max(best, score(lessWords[row], moreWords[column]) + bestSum(lessWords, moreWords, row + 1, used));
+                used[column] = false;
+            }
+        }
+
+        return best;
+    }
+
+    private static String[] randomWords(Random random, String[] vocabulary){
+        Set<String> words = new LinkedHashSet<>();
+        int length = 1 + random.nextInt(5);
+
+        while (words.size() < length) {
+            words.add(vocabulary[random.nextInt(vocabulary.length)]);
+        }
+
+        return words.toArray(new String[0]);
+    }
+}
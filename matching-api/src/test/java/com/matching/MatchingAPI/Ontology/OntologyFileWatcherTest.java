@@ -0,0 +1,53 @@
+package com.matching.MatchingAPI.Ontology;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks, that {@link OntologyFileWatcher} calls "onChange" once for changes of an ontology that follow each other within "quietMillis"
+ * and not for other files in the same directory.
+ */
+class OntologyFileWatcherTest {
+    private static void awaitCalls(AtomicInteger calls, int expectedCalls) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+
+        while(calls.get() < expectedCalls && System.nanoTime() < deadline){
+            Thread.sleep(10);
+        }
+        //no more calls after the quiet time
+        Thread.sleep(3 * OntologyFileWatcher.quietMillis);
+        assertEquals(expectedCalls, calls.get());
+    }
+
+    @Test
+    void callOnceForChangesInQuietTime(@TempDir Path directory) throws IOException, InterruptedException {
+        Path ontology = directory.resolve("om-2.0.rdf"), otherFile = directory.resolve("notes.txt");
+        Files.write(ontology, "first".getBytes(StandardCharsets.UTF_8));
+        AtomicInteger calls = new AtomicInteger();
+
+        new OntologyFileWatcher(List.of(ontology.toString(), "http://www.ontology-of-units-of-measure.org/"), calls::incrementAndGet).start();
+
+        for (int i = 0; i < 3; i++) {
+            Files.write(ontology, ("version " + i).getBytes(StandardCharsets.UTF_8));
+            Thread.sleep(OntologyFileWatcher.quietMillis / 5);
+        }
+        awaitCalls(calls, 1);
+
+        Files.write(otherFile, "other".getBytes(StandardCharsets.UTF_8));
+        Thread.sleep(3 * OntologyFileWatcher.quietMillis);
+        assertEquals(1, calls.get());
+
+        Files.write(ontology, "second".getBytes(StandardCharsets.UTF_8));
+        awaitCalls(calls, 2);
+    }
+}
@@ -0,0 +1,65 @@
+package com.matching.MatchingAPI.Ontology;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks, that {@link OntologySnapshot} reads the same classes and units that are parsed from the ontologies
+ * and is only used for the ontologies it was written for.
+ */
+class OntologySnapshotTest {
+    final static String synonymsOntology = "./ontologies/synonymsForMatching.ttl", unitOntology = "./ontologies/om-2.0.rdf";
+
+    private static void assertSameOntologies(OntologySnapshot expected, OntologySnapshot actual){
+        assertEquals(expected.getClassesWithLabels(), actual.getClassesWithLabels());
+        assertEquals(expected.getUnits().size(), actual.getUnits().size());
+
+        for (int i = 0; i < expected.getUnits().size(); i++) {
+            OntologyUnit expectedUnit = expected.getUnits().get(i), actualUnit = actual.getUnits().get(i);
+
+            assertEquals(expectedUnit.getLabels(), actualUnit.getLabels());
+            assertEquals(expectedUnit.getSymbol(), actualUnit.getSymbol());
+            assertEquals(expectedUnit.getDimension(), actualUnit.getDimension());
+        }
+    }
+
+    @Test
+    void readWrittenSnapshot(@TempDir Path directory) throws IOException {
+        String snapshotFile = directory.resolve("ontology.snapshot").toString();
+
+        //without snapshot the ontologies are parsed (the order of the parsed classes and units can differ between two parses)
+        OntologySnapshot parsed = OntologySnapshot.loadOrCreate(synonymsOntology, unitOntology, snapshotFile);
+        assertTrue(Files.isRegularFile(Paths.get(snapshotFile)));
+
+        byte[] synonymsChecksum = OntologySnapshot.calculateChecksum(Paths.get(synonymsOntology));
+        byte[] unitChecksum = OntologySnapshot.calculateChecksum(Paths.get(unitOntology));
+        assertSameOntologies(parsed, OntologySnapshot.read(Paths.get(snapshotFile), synonymsChecksum, unitChecksum));
+        assertSameOntologies(parsed, OntologySnapshot.loadOrCreate(synonymsOntology, unitOntology, snapshotFile));
+    }
+
+    @Test
+    void rejectOtherOrDamagedSnapshot(@TempDir Path directory) throws IOException {
+        Path snapshotPath = directory.resolve("ontology.snapshot");
+        byte[] synonymsChecksum = OntologySnapshot.calculateChecksum(Paths.get(synonymsOntology));
+        byte[] unitChecksum = OntologySnapshot.calculateChecksum(Paths.get(unitOntology));
+        OntologySnapshot snapshot = new OntologySnapshot(List.of(List.of("Mass", "mass", "weight"), List.of("Time")),
+                List.of(new OntologyUnit(List.of("metre", "meter"), "m", "length"), new OntologyUnit(List.of(), "", "")));
+
+        snapshot.write(snapshotPath, synonymsChecksum, unitChecksum);
+        assertSameOntologies(snapshot, OntologySnapshot.read(snapshotPath, synonymsChecksum, unitChecksum));
+        assertNull(OntologySnapshot.read(snapshotPath, unitChecksum, unitChecksum));
+
+        byte[] bytes = Files.readAllBytes(snapshotPath);
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(snapshotPath, bytes);
+        assertThrows(IOException.class, () -> OntologySnapshot.read(snapshotPath, synonymsChecksum, unitChecksum));
+    }
+}
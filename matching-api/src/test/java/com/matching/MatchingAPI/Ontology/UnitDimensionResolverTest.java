@@ -0,0 +1,165 @@
+package com.matching.MatchingAPI.Ontology;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares {@link UnitDimensionResolver} with the former scan through all units in "testUnitsForSimilarity" of {@link OntologyProcessingService},
+ * for the labels and symbols of "om-2.0.rdf", their case variants and unknown units.
+ * The only allowed differences are units that differ only in case (the former scan took only one of them).
+ * Also checks, that the blocks of the units (used for partitioning the properties) are the same exactly for similar units.
+ */
+class UnitDimensionResolverTest {
+    final static String synonymsOntology = "./ontologies/synonymsForMatching.ttl", unitOntology = "./ontologies/om-2.0.rdf";
+    private static List<OntologyUnit> listOfUnits;
+    private static UnitDimensionResolver unitDimensionResolver;
+
+    @BeforeAll
+    static void loadUnits(){
+        listOfUnits = OntologySnapshot.parseOntologies(synonymsOntology, unitOntology).getUnits();
+        unitDimensionResolver = new UnitDimensionResolver(listOfUnits);
+    }
+
+    private static boolean testUnitsForSimilarity(String inUnit, String outUnit, List<OntologyUnit> listOfUnits){
+        String inDimension = "", outDimension = "";
+
+        if(inUnit.equals(outUnit)){
+            return true;
+        }
+        else{
+            for (OntologyUnit ontologyUnit : listOfUnits) {
+                for(String label : ontologyUnit.getLabels()){
+                    if(label.toLowerCase(Locale.ROOT).equals(inUnit.toLowerCase())){
+                        inDimension = ontologyUnit.getDimension();
+                    }
+                    else if(label.toLowerCase(Locale.ROOT).equals(outUnit.toLowerCase())){
+                        outDimension = ontologyUnit.getDimension();
+                    }
+                }
+
+                if(ontologyUnit.getSymbol().equals(inUnit)){
+                    inDimension = ontologyUnit.getDimension();
+                }
+                else if(ontologyUnit.getSymbol().equals(outUnit)){
+                    outDimension = ontologyUnit.getDimension();
+                }
+            }
+        }
+
+        if(!inDimension.equals("") || !outDimension.equals("")){
+            if(inDimension.equals(outDimension)){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean sameUnitBlock(String inUnit, String outUnit){
+        return unitDimensionResolver.getUnitBlock(inUnit).equals(unitDimensionResolver.getUnitBlock(outUnit));
+    }
+
+    private static String randomCase(String unit, Random random){
+        StringBuilder variant = new StringBuilder(unit.length());
+
+        for(char character : unit.toCharArray()){
+            variant.append(random.nextBoolean() ? Character.toUpperCase(character) : Character.toLowerCase(character));
+        }
+        return variant.toString();
+    }
+
+    /**
+     * Picks a unit to compare with "unit": often another name of the same unit or of a unit with the same dimension, so that both results are tested.
+     */
+    private static String pickOtherUnit(OntologyUnit unit, List<String> allUnits, Map<String, List<OntologyUnit>> unitsByDimension, Random random){
+        switch (random.nextInt(4)) {
+            case 0:
+                return allUnits.get(random.nextInt(allUnits.size()));
+            case 1:
+                List<OntologyUnit> sameDimension = unitsByDimension.get(unit.getDimension());
+                unit = sameDimension.get(random.nextInt(sameDimension.size()));
+            default:
+                List<String> names = new ArrayList<>(unit.getLabels());
+                names.add(unit.getSymbol());
+                String name = names.get(random.nextInt(names.size()));
+
+                return random.nextInt(3) == 0 ? randomCase(name, random) : name;
+        }
+    }
+
+    @Test
+    void resolveLikeFormerScan(){
+        Random random = new Random(11);
+        List<String> allUnits = new ArrayList<>(List.of("String", "", "unknownUnit", "METRE", "Kg"));
+        Map<String, List<OntologyUnit>> unitsByDimension = new HashMap<>();
+
+        for(OntologyUnit unit : listOfUnits){
+            allUnits.addAll(unit.getLabels());
+            allUnits.add(unit.getSymbol());
+            unitsByDimension.computeIfAbsent(unit.getDimension(), dimension -> new ArrayList<>()).add(unit);
+        }
+
+        int similarPairs = 0, otherPairs = 0;
+        //every label and symbol (and a case variant of it) with a unit of the same unit, of the same dimension or any other
+        for(OntologyUnit unit : listOfUnits){
+            List<String> inUnits = new ArrayList<>(unit.getLabels());
+            inUnits.add(unit.getSymbol());
+
+            for(String name : inUnits){
+                for(String inUnit : List.of(name, randomCase(name, random))){
+                    String outUnit = pickOtherUnit(unit, allUnits, unitsByDimension, random);
+                    boolean expected = testUnitsForSimilarity(inUnit, outUnit, listOfUnits), similar = sameUnitBlock(inUnit, outUnit);
+
+                    if(similar != expected){
+                        assertEquals(inUnit.toLowerCase(Locale.ROOT), outUnit.toLowerCase(Locale.ROOT), inUnit + " / " + outUnit);
+                    }
+                    if(similar){
+                        similarPairs++;
+                    }
+                    else {
+                        otherPairs++;
+                    }
+                }
+            }
+        }
+        assertTrue(similarPairs > 0 && otherPairs > 0);
+    }
+
+    @Test
+    void sameBlockForSimilarUnits(){
+        Random random = new Random(5);
+        List<String> allUnits = new ArrayList<>(List.of("String", "", "unknownUnit", "METRE", "Kg"));
+        Map<String, List<OntologyUnit>> unitsByDimension = new HashMap<>();
+
+        for(OntologyUnit unit : listOfUnits){
+            allUnits.addAll(unit.getLabels());
+            allUnits.add(unit.getSymbol());
+            unitsByDimension.computeIfAbsent(unit.getDimension(), dimension -> new ArrayList<>()).add(unit);
+        }
+
+        //every label and symbol with the names of its unit, of a unit with the same dimension and with random units
+        for(OntologyUnit unit : listOfUnits){
+            List<OntologyUnit> sameDimension = unitsByDimension.get(unit.getDimension());
+            List<String> inUnits = new ArrayList<>(unit.getLabels()), outUnits = new ArrayList<>(unit.getLabels());
+            inUnits.add(unit.getSymbol());
+            outUnits.add(unit.getSymbol());
+
+            OntologyUnit otherUnit = sameDimension.get(random.nextInt(sameDimension.size()));
+            outUnits.addAll(otherUnit.getLabels());
+            outUnits.add(otherUnit.getSymbol());
+            for (int i = 0; i < 10; i++) {
+                outUnits.add(allUnits.get(random.nextInt(allUnits.size())));
+            }
+
+            for(String inUnit : inUnits){
+                for(String outUnit : outUnits){
+                    assertEquals(unitDimensionResolver.haveSameDimension(inUnit, outUnit) || inUnit.equals(outUnit), sameUnitBlock(inUnit, outUnit), inUnit + " / " + outUnit);
+                    assertEquals(sameUnitBlock(inUnit, outUnit), sameUnitBlock(outUnit, inUnit));
+                }
+            }
+        }
+    }
+}